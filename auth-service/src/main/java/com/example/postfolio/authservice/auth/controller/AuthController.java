@@ -2,6 +2,7 @@ package com.example.postfolio.authservice.auth.controller;
 
 import com.example.postfolio.authservice.auth.dto.AuthRequest;
 import com.example.postfolio.authservice.auth.dto.AuthResponse;
+import com.example.postfolio.authservice.auth.dto.RefreshRequest;
 import com.example.postfolio.authservice.auth.dto.RegisterRequest;
 import com.example.postfolio.authservice.auth.service.AuthService;
 import lombok.RequiredArgsConstructor;
@@ -27,5 +28,17 @@ public class AuthController {
         AuthResponse response = authService.login(request);
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@RequestBody RefreshRequest request) {
+        AuthResponse response = authService.refresh(request);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody RefreshRequest request) {
+        authService.logout(request);
+        return ResponseEntity.noContent().build();
+    }
 }
 
@@ -1,4 +1,3 @@
 package com.example.postfolio.authservice.auth.dto;
 
-public record AuthResponse(String token) {}
-
+public record AuthResponse(String token, String refreshToken) {}
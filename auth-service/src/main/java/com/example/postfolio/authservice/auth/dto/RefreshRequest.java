@@ -0,0 +1,3 @@
+package com.example.postfolio.authservice.auth.dto;
+
+public record RefreshRequest(String refreshToken) {}
@@ -2,17 +2,21 @@ package com.example.postfolio.authservice.auth.service;
 
 import com.example.postfolio.authservice.auth.dto.AuthRequest;
 import com.example.postfolio.authservice.auth.dto.AuthResponse;
+import com.example.postfolio.authservice.auth.dto.RefreshRequest;
 import com.example.postfolio.authservice.auth.dto.RegisterRequest;
 import com.example.postfolio.authservice.config.JwtService;
 import com.example.postfolio.authservice.user.entity.User;
+import com.example.postfolio.authservice.user.model.Role;
 import com.example.postfolio.authservice.profile.entity.Profile;
 import com.example.postfolio.authservice.profile.repository.ProfileRepository;
 import com.example.postfolio.authservice.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 @Service
 @RequiredArgsConstructor
@@ -23,8 +27,13 @@ public class AuthService {
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
     private final ProfileRepository profileRepository;
+    private final RefreshTokenService refreshTokenService;
 
     public AuthResponse register(RegisterRequest request) {
+        // Admins are promoted by hand, never self-registered
+        if (request.role() == Role.Admin) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Cannot register as Admin");
+        }
         User user = User.builder()
                 .name(request.name())
                 .email(request.email())
@@ -33,13 +42,13 @@ public class AuthService {
                 .build();
 
         User savedUser = userRepository.save(user);
-        profileRepository.findByUser(savedUser).orElseGet(() -> {
-            Profile profile = new Profile();
-            profile.setUser(savedUser);
-            return profileRepository.save(profile);
+        Profile profile = profileRepository.findByUser(savedUser).orElseGet(() -> {
+            Profile created = new Profile();
+            created.setUser(savedUser);
+            return profileRepository.save(created);
         });
-        String jwt = jwtService.generateToken(savedUser);
-        return new AuthResponse(jwt);
+        String jwt = jwtService.generateToken(savedUser, profile.getId());
+        return new AuthResponse(jwt, refreshTokenService.issue(savedUser, profile.getId()));
     }
 
     public AuthResponse login(AuthRequest request) {
@@ -51,8 +60,22 @@ public class AuthService {
         );
         User user = userRepository.findByEmail(request.email())
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        String jwt = jwtService.generateToken(user);
-        return new AuthResponse(jwt);
+        Long profileId = profileRepository.findIdByUserId(user.getId()).orElse(null);
+        String jwt = jwtService.generateToken(user, profileId);
+        return new AuthResponse(jwt, refreshTokenService.issue(user, profileId));
+    }
+
+    /**
+     * Renew a session without the password: rotate the refresh token and issue a new access token
+     */
+    public AuthResponse refresh(RefreshRequest request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.refreshToken());
+        String jwt = jwtService.generateToken(rotation.user(), rotation.profileId());
+        return new AuthResponse(jwt, rotation.refreshToken());
+    }
+
+    public void logout(RefreshRequest request) {
+        refreshTokenService.revoke(request.refreshToken());
     }
 }
 
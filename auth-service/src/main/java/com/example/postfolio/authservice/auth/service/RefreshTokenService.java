@@ -0,0 +1,129 @@
+package com.example.postfolio.authservice.auth.service;
+
+import com.example.postfolio.authservice.auth.entity.RefreshToken;
+import com.example.postfolio.authservice.auth.repository.RefreshTokenRepository;
+import com.example.postfolio.authservice.user.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Rotating refresh tokens. Renewing a session costs one SHA-256 and one indexed read instead of a
+ * BCrypt verification. Each refresh revokes the presented token and issues a new one in the same
+ * family; presenting an already rotated token is treated as theft and revokes the whole family.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Duration ttl;
+    private final SecureRandom random = new SecureRandom();
+
+    public record Rotation(User user, Long profileId, String refreshToken) {}
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               @Value("${auth.refresh-token.ttl-days:30}") long ttlDays) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.ttl = Duration.ofDays(ttlDays);
+    }
+
+    /**
+     * Start a new token family for a fresh login and return the raw token; only its hash is stored
+     */
+    @Transactional
+    public String issue(User user, Long profileId) {
+        return create(user, profileId, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchange a refresh token for a new one. Fails with 401 if the token is unknown, expired,
+     * revoked or was already rotated; in the last case its whole family is revoked as well.
+     */
+    @Transactional(noRollbackFor = ResponseStatusException.class)
+    public Rotation rotate(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token is required");
+        }
+        RefreshToken current = refreshTokenRepository.findByTokenHashWithUser(hash(rawToken))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token"));
+
+        Instant now = Instant.now();
+        if (current.getRevokedAt() != null || refreshTokenRepository.revokeIfActive(current.getId(), now) == 0) {
+            int revoked = refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            log.warn("Refresh token reuse for user {}, revoked {} token(s) in family {}",
+                    current.getUser().getId(), revoked, current.getFamilyId());
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token was already used");
+        }
+        if (current.getExpiresAt().isBefore(now)) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token expired");
+        }
+
+        String next = create(current.getUser(), current.getProfileId(), current.getFamilyId());
+        return new Rotation(current.getUser(), current.getProfileId(), next);
+    }
+
+    /**
+     * Logout: revoke the token's family. Unknown tokens are ignored.
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            return;
+        }
+        refreshTokenRepository.findByTokenHashWithUser(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), Instant.now()));
+    }
+
+    @Scheduled(cron = "${auth.refresh-token.purge-cron:0 30 3 * * *}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpiredBefore(Instant.now());
+        if (deleted > 0) {
+            log.info("Purged {} expired refresh token(s)", deleted);
+        }
+    }
+
+    private String create(User user, Long profileId, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        Instant now = Instant.now();
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(rawToken))
+                .familyId(familyId)
+                .user(user)
+                .profileId(profileId)
+                .createdAt(now)
+                .expiresAt(now.plus(ttl))
+                .build());
+        return rawToken;
+    }
+
+    // The token carries 256 random bits, so a fast unsalted hash is enough to keep the table useless if leaked
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
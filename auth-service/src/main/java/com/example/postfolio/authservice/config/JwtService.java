@@ -4,20 +4,28 @@ import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import com.example.postfolio.authservice.user.entity.User;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
 
     private final String secretKey;
+    // Short-lived now that sessions are renewed with refresh tokens
+    private final long accessTokenTtlMs;
 
-    public JwtService(@org.springframework.beans.factory.annotation.Value("${jwt.secret:postfolio-super-secret-key-1234567890!@#$}") String secretKey) {
+    public JwtService(@Value("${jwt.secret:postfolio-super-secret-key-1234567890!@#$}") String secretKey,
+                      @Value("${jwt.access-token-ttl-minutes:60}") long accessTokenTtlMinutes) {
         this.secretKey = secretKey;
+        this.accessTokenTtlMs = accessTokenTtlMinutes * 60 * 1000;
     }
 
     private Key getSigningKey() {
@@ -33,11 +41,22 @@ public class JwtService {
         return resolver.apply(claims);
     }
 
-    public String generateToken(UserDetails userDetails) {
+    /**
+     * Token carrying the user id, profile id and role, so post-service and job-service can authorize
+     * from the claims alone. Claim names must match their TokenVerifier.
+     */
+    public String generateToken(User user, Long profileId) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("uid", user.getId());
+        if (profileId != null) {
+            claims.put("pid", profileId);
+        }
+        claims.put("role", user.getRole().name());
         return Jwts.builder()
-                .setSubject(userDetails.getUsername())
+                .setClaims(claims)
+                .setSubject(user.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 24))
+                .setExpiration(new Date(System.currentTimeMillis() + accessTokenTtlMs))
                 .signWith(getSigningKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
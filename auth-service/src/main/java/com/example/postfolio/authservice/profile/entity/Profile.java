@@ -19,8 +19,9 @@ public class Profile {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(name = "profile_picture", length = 10485760)
-    private String pictureBase64;
+    // The picture itself lives in the main server's blob store
+    @Column(name = "picture_hash", length = 64)
+    private String pictureHash;
 
     private String bio;
     private LocalDate birthDate;
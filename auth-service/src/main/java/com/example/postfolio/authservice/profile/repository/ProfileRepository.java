@@ -3,10 +3,15 @@ package com.example.postfolio.authservice.profile.repository;
 import com.example.postfolio.authservice.profile.entity.Profile;
 import com.example.postfolio.authservice.user.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface ProfileRepository extends JpaRepository<Profile, Long> {
     Optional<Profile> findByUser(User user);
+
+    @Query("SELECT p.id FROM Profile p WHERE p.user.id = :userId")
+    Optional<Long> findIdByUserId(@Param("userId") Long userId);
 }
 
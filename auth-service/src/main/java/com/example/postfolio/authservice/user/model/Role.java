@@ -2,6 +2,7 @@ package com.example.postfolio.authservice.user.model;
 
 public enum Role {
     User,
-    Employer
+    Employer,
+    Admin
 }
 
@@ -1,7 +1,7 @@
 'use client';
 import { useEffect, useState } from 'react';
 import { useRouter } from 'next/navigation';
-import { apiFetch } from '@/lib/api';
+import { apiFetch, logout } from '@/lib/api';
 import {
     User,
     Users,
@@ -37,8 +37,8 @@ export default function Dashboard() {
         fetchProfileAndSetRole();
     }, []);
 
-    const handleLogout = () => {
-        localStorage.removeItem('token');
+    const handleLogout = async () => {
+        await logout();
         router.push('/login');
     };
 
@@ -1,6 +1,6 @@
 "use client";
 import { useEffect, useState } from "react";
-import { apiFetch, jobServiceFetch } from '@/lib/api';
+import { jobServiceFetch } from '@/lib/api';
 import { useRouter } from "next/navigation";
 import { Card, CardHeader, CardTitle, CardDescription, CardContent } from "@/components/ui/card";
 import { Button } from "@/components/ui/button";
@@ -38,15 +38,8 @@ export default function JobPostings() {
       router.push("/login");
       return;
     }
-    // Get user profile to extract employerId
-    const profileRes = await apiFetch('/api/profile/me');
-    if (!profileRes.ok) {
-      setLoading(false);
-      alert("Failed to get user profile. Please try again.");
-      return;
-    }
-    const profile = await profileRes.json();
-    const res = await jobServiceFetch(`/api/jobs/employer/${profile.id}`);
+    // Jobs are stored under the user id from the token, not the profile id
+    const res = await jobServiceFetch('/api/jobs/employer/me');
     if (res.ok) {
       setJobs(await res.json());
     }
@@ -67,24 +60,13 @@ export default function JobPostings() {
       router.push("/login");
       return;
     }
-    
-    // Get user profile to extract userId
-    const profileRes = await apiFetch('/api/profile/me');
-    
-    if (!profileRes.ok) {
-      setLoading(false);
-      alert("Failed to get user profile. Please try again.");
-      return;
-    }
-    
-    const profile = await profileRes.json();
-    
+
+    // The employer is taken from the token
     const res = await jobServiceFetch('/api/jobs', {
       method: 'POST',
       body: JSON.stringify({
         ...form,
         datePosted: new Date().toISOString().slice(0, 10),
-        employerId: profile.id,
       }),
     });
     if (res.ok) {
@@ -1,7 +1,7 @@
 'use client';
 import { useState } from 'react';
 import { useRouter } from 'next/navigation';
-import { authFetch } from '@/lib/api';
+import { authFetch, storeSession } from '@/lib/api';
 
 export default function Login() {
     const [email, setEmail] = useState('');
@@ -16,7 +16,7 @@ export default function Login() {
                 body: JSON.stringify({ email, password })
             });
             const data = await response.json();
-            localStorage.setItem('token', data.token);
+            storeSession(data);
             router.push('/dashboard');
         } catch (error) {
             console.error('Login failed:', error);
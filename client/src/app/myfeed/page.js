@@ -1,6 +1,6 @@
 'use client';
 import { useState, useEffect } from 'react';
-import { apiFetch, postServiceFetch } from '@/lib/api';
+import { apiFetch, postServiceFetch, pictureSrc } from '@/lib/api';
 import { Button } from "@/components/ui/button";
 import { Card, CardHeader, CardTitle, CardContent, CardDescription } from "@/components/ui/card";
 import { Avatar, AvatarFallback, AvatarImage } from "@/components/ui/avatar";
@@ -288,8 +288,8 @@ export default function MyFeedPage() {
                                     <div className="flex items-start space-x-4">
                                         {/* User Avatar */}
                                         <Avatar className="h-12 w-12">
-                                            {post.profilePictureBase64 ? (
-                                                <AvatarImage src={`data:image/jpeg;base64,${post.profilePictureBase64}`} />
+                                            {post.profilePictureUrl ? (
+                                                <AvatarImage src={pictureSrc(post.profilePictureUrl)} />
                                             ) : (
                                                 <AvatarFallback className="bg-gradient-to-br from-green-500 to-blue-600 text-white">
                                                     {getInitials(post.profileName)}
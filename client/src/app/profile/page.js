@@ -2,7 +2,7 @@
 import { useState, useEffect } from 'react';
 import { useRouter } from 'next/navigation';
 import Modal from 'react-modal';
-import { apiFetch } from '@/lib/api';
+import { apiFetch, pictureSrc } from '@/lib/api';
 
 // Initialize modal only on client side
 if (typeof window !== 'undefined') {
@@ -110,9 +110,9 @@ export default function ProfilePage() {
 
             <div className="profile-section">
                 <div className="profile-picture">
-                    {profile.pictureBase64 ? (
+                    {profile.pictureUrl ? (
                         <img
-                            src={`data:image/jpeg;base64,${profile.pictureBase64}`}
+                            src={pictureSrc(profile.pictureUrl)}
                             alt="Profile"
                             className="profile-image"
                         />
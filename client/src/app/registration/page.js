@@ -1,7 +1,7 @@
 'use client';
 import { useState } from 'react';
 import { useRouter } from 'next/navigation';
-import { authFetch } from '@/lib/api';
+import { authFetch, storeSession } from '@/lib/api';
 
 export default function Register() {
     const [name, setName] = useState('');
@@ -42,7 +42,7 @@ export default function Register() {
             }
 
             const data = await response.json();
-            localStorage.setItem('token', data.token);
+            storeSession(data);
             alert(`Registration successful as ${role}`);
             router.push('/dashboard');
         } catch (error) {
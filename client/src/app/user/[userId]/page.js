@@ -1,6 +1,6 @@
 'use client';
 import { useState, useEffect } from 'react';
-import { apiFetch } from '@/lib/api';
+import { apiFetch, pictureSrc } from '@/lib/api';
 import { useParams, useRouter } from 'next/navigation';
 import { Button } from "@/components/ui/button";
 import { Card, CardHeader, CardTitle, CardContent } from "@/components/ui/card";
@@ -179,7 +179,7 @@ export default function UserProfilePage() {
                                         <div className="relative">
                                             <Avatar className="w-32 h-32 shadow-2xl border-4 border-green-400 ring-8 ring-green-400/20">
                                                 <AvatarImage
-                                                    src={profile.pictureBase64 ? `data:image/jpeg;base64,${profile.pictureBase64}` : undefined}
+                                                    src={pictureSrc(profile.pictureUrl)}
                                                     alt="Profile"
                                                     className="object-cover"
                                                 />
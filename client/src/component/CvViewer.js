@@ -1,6 +1,6 @@
 'use client';
 import { useState, useEffect } from 'react';
-import { apiFetch, postServiceFetch } from '@/lib/api';
+import { apiFetch, postServiceFetch, pictureSrc } from '@/lib/api';
 import {
     Avatar,
     AvatarFallback,
@@ -137,11 +137,7 @@ export default function CvViewer({ profileId }) {
                                 <div className="relative">
                                     <Avatar className="w-28 h-28 shadow-2xl border-4 border-gray-800 ring-4 ring-green-900/50">
                                         <AvatarImage
-                                            src={
-                                                profile.pictureBase64
-                                                    ? `data:image/jpeg;base64,${profile.pictureBase64}`
-                                                    : undefined
-                                            }
+                                            src={pictureSrc(profile.pictureUrl)}
                                             alt="Profile"
                                             className="object-cover"
                                         />
@@ -25,12 +25,12 @@ const UserSearch = ({ className }) => {
         setError(null);
 
         try {
-            const response = await apiFetch(`/api/search/users?q=${encodeURIComponent(term)}`);
+            const response = await apiFetch(`/api/search/users?q=${encodeURIComponent(term)}&fuzzy=true`);
 
             if (!response.ok) throw new Error('Failed to search users');
 
             const data = await response.json();
-            setSearchResults(data);
+            setSearchResults(data.results);
         } catch (err) {
             setError(err.message);
         } finally {
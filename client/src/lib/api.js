@@ -3,8 +3,66 @@ export const API_BASE_URL = process.env.NEXT_PUBLIC_API_BASE_URL || 'http://loca
 export const POST_SERVICE_URL = process.env.NEXT_PUBLIC_POST_SERVICE_URL || 'http://localhost:8082';
 export const JOB_SERVICE_URL = process.env.NEXT_PUBLIC_JOB_SERVICE_URL || 'http://localhost:8083';
 
+// Access tokens are short-lived JWTs; the refresh token renews them without re-sending the password
+const REFRESH_MARGIN_MS = 60 * 1000;
+let refreshing = null;
+
+export function storeSession(data) {
+  localStorage.setItem('token', data.token);
+  if (data.refreshToken) localStorage.setItem('refreshToken', data.refreshToken);
+}
+
+export async function logout() {
+  const refreshToken = localStorage.getItem('refreshToken');
+  localStorage.removeItem('token');
+  localStorage.removeItem('refreshToken');
+  if (refreshToken) {
+    await authFetch('/api/auth/logout', {
+      method: 'POST',
+      body: JSON.stringify({ refreshToken }),
+    }).catch(() => {});
+  }
+}
+
+function expiresAt(token) {
+  try {
+    const payload = JSON.parse(atob(token.split('.')[1].replace(/-/g, '+').replace(/_/g, '/')));
+    return payload.exp * 1000;
+  } catch {
+    return 0;
+  }
+}
+
+async function accessToken() {
+  if (typeof window === 'undefined') return null;
+  const token = localStorage.getItem('token');
+  const refreshToken = localStorage.getItem('refreshToken');
+  if (!token || !refreshToken || expiresAt(token) - Date.now() > REFRESH_MARGIN_MS) return token;
+
+  // Refresh tokens rotate and a reused one revokes the session, so concurrent callers share one refresh
+  if (!refreshing) {
+    refreshing = authFetch('/api/auth/refresh', {
+      method: 'POST',
+      body: JSON.stringify({ refreshToken }),
+    })
+      .then(async (res) => {
+        if (res.ok) {
+          storeSession(await res.json());
+        } else if (res.status === 401) {
+          localStorage.removeItem('refreshToken');
+        }
+      })
+      .catch(() => {})
+      .finally(() => {
+        refreshing = null;
+      });
+  }
+  await refreshing;
+  return localStorage.getItem('token');
+}
+
 export async function apiFetch(path, options = {}) {
-  const token = typeof window !== 'undefined' ? localStorage.getItem('token') : null;
+  const token = await accessToken();
   const headers = {
     'Content-Type': 'application/json',
     ...(options.headers || {}),
@@ -30,7 +88,7 @@ export async function authFetch(path, options = {}) {
 }
 
 export async function postServiceFetch(path, options = {}) {
-  const token = typeof window !== 'undefined' ? localStorage.getItem('token') : null;
+  const token = await accessToken();
   const headers = {
     'Content-Type': 'application/json',
     ...(options.headers || {}),
@@ -44,7 +102,7 @@ export async function postServiceFetch(path, options = {}) {
 }
 
 export async function jobServiceFetch(path, options = {}) {
-  const token = typeof window !== 'undefined' ? localStorage.getItem('token') : null;
+  const token = await accessToken();
   const headers = {
     'Content-Type': 'application/json',
     ...(options.headers || {}),
@@ -57,3 +115,8 @@ export async function jobServiceFetch(path, options = {}) {
   return res;
 }
 
+
+// Picture URLs in API responses are server-relative and versioned, so browsers can cache them for good
+export function pictureSrc(pictureUrl) {
+  return pictureUrl ? `${API_BASE_URL}${pictureUrl}` : undefined;
+}
@@ -2,8 +2,10 @@ package com.example.postfolio.jobservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
 
-@SpringBootApplication
+// No user store here: requests are authenticated from token claims only
+@SpringBootApplication(exclude = UserDetailsServiceAutoConfiguration.class)
 public class JobServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(JobServiceApplication.class, args);
@@ -1,11 +1,15 @@
 package com.example.postfolio.jobservice.job.controller;
 
+import com.example.postfolio.jobservice.config.TokenPrincipal;
 import com.example.postfolio.jobservice.job.dto.JobRequest;
 import com.example.postfolio.jobservice.job.dto.JobResponse;
 import com.example.postfolio.jobservice.job.service.JobService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import java.util.List;
 
 @RestController
@@ -15,8 +19,17 @@ public class JobController {
     private final JobService jobService;
 
     @PostMapping
-    public ResponseEntity<JobResponse> createJob(@RequestBody JobRequest request) {
-        return ResponseEntity.ok(jobService.createJob(request));
+    public ResponseEntity<JobResponse> createJob(
+            @AuthenticationPrincipal TokenPrincipal principal,
+            @RequestBody JobRequest request) {
+        // Jobs are always posted as the calling employer
+        return ResponseEntity.ok(jobService.createJob(request, principal.userId()));
+    }
+
+    // The calling employer's own postings, keyed by the user id jobs are stored under
+    @GetMapping("/employer/me")
+    public ResponseEntity<List<JobResponse>> getMyJobs(@AuthenticationPrincipal TokenPrincipal principal) {
+        return ResponseEntity.ok(jobService.getJobsByEmployer(principal.userId()));
     }
 
     @GetMapping("/employer/{employerId}")
@@ -31,8 +44,12 @@ public class JobController {
 
     @PostMapping("/{jobId}/apply/{applicantId}")
     public ResponseEntity<JobResponse> applyForJob(
+            @AuthenticationPrincipal TokenPrincipal principal,
             @PathVariable Long jobId, 
             @PathVariable Long applicantId) {
+        if (!applicantId.equals(principal.profileId())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Can only apply with your own profile");
+        }
         return ResponseEntity.ok(jobService.applyForJob(jobId, applicantId));
     }
 
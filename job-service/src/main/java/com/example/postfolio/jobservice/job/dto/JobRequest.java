@@ -12,7 +12,6 @@ public class JobRequest {
     private LocalDate datePosted;
     private LocalDate endDate;
     private String requirements;
-    private Long employerId;
     private List<Long> applicantIds;
     private List<Long> selectedApplicantIds;
 } 
\ No newline at end of file
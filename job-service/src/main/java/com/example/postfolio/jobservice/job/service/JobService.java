@@ -5,7 +5,7 @@ import com.example.postfolio.jobservice.job.dto.JobResponse;
 import java.util.List;
 
 public interface JobService {
-    JobResponse createJob(JobRequest request);
+    JobResponse createJob(JobRequest request, Long employerId);
     List<JobResponse> getAllJobs();
     List<JobResponse> getJobsByEmployer(Long employerId);
     JobResponse applyForJob(Long jobId, Long applicantId);
@@ -10,7 +10,9 @@ import com.example.postfolio.jobservice.user.repository.UserRepository;
 import com.example.postfolio.jobservice.profile.entity.Profile;
 import com.example.postfolio.jobservice.profile.repository.ProfileRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -30,8 +32,10 @@ public class JobServiceImpl implements JobService {
     }
 
     @Override
-    public JobResponse createJob(JobRequest request) {
-        User employer = userRepository.findById(request.getEmployerId()).orElseThrow();
+    public JobResponse createJob(JobRequest request, Long employerId) {
+        // The id comes from a verified token, but the account may have been deleted since it was issued
+        User employer = userRepository.findById(employerId).orElseThrow(() ->
+            new ResponseStatusException(HttpStatus.NOT_FOUND, "Employer not found with id: " + employerId));
         Job job = Job.builder()
             .title(request.getTitle())
             .position(request.getPosition())
@@ -2,8 +2,10 @@ package com.example.postfolio.postservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
 
-@SpringBootApplication
+// No user store here: requests are authenticated from token claims only
+@SpringBootApplication(exclude = UserDetailsServiceAutoConfiguration.class)
 public class PostServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(PostServiceApplication.class, args);
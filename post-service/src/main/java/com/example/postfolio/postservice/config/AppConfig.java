@@ -1,14 +1,21 @@
 package com.example.postfolio.postservice.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class AppConfig {
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(@Value("${ai.gemini.connect-timeout-ms:2000}") int connectTimeoutMs,
+                                     @Value("${ai.gemini.read-timeout-ms:10000}") int readTimeoutMs) {
+        // Without timeouts a stalled upstream holds the calling thread indefinitely
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeoutMs);
+        requestFactory.setReadTimeout(readTimeoutMs);
+        return new RestTemplate(requestFactory);
     }
 } 
\ No newline at end of file
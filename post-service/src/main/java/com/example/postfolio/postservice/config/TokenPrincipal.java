@@ -0,0 +1,21 @@
+package com.example.postfolio.postservice.config;
+
+import com.example.postfolio.postservice.user.model.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+import java.util.List;
+
+// Caller identity taken from the token's claims; profileId is null for users without a profile
+public record TokenPrincipal(Long userId, Long profileId, String email, Role role) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    public List<GrantedAuthority> authorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.postfolio.postservice.config;
+
+import com.example.postfolio.postservice.user.model.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Verifies tokens issued by auth-service and builds the principal from their claims alone, so no
+ * user or profile row is read to authorize a request. Same class as in job-service.
+ */
+@Component
+public class TokenVerifier {
+
+    static final String USER_ID_CLAIM = "uid";
+    static final String PROFILE_ID_CLAIM = "pid";
+    static final String ROLE_CLAIM = "role";
+
+    private final JwtParser parser;
+
+    public TokenVerifier(@Value("${jwt.secret:postfolio-super-secret-key-1234567890!@#$}") String secretKey) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(secretKey.getBytes()))
+                .build();
+    }
+
+    /**
+     * The principal of a valid token. Empty for bad signatures, expired or malformed tokens, and
+     * for tokens issued before they carried the uid and role claims.
+     */
+    public Optional<TokenPrincipal> verify(String token) {
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        Number profileId = claims.get(PROFILE_ID_CLAIM, Number.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        if (userId == null || role == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(new TokenPrincipal(
+                    userId.longValue(),
+                    profileId != null ? profileId.longValue() : null,
+                    claims.getSubject(),
+                    Role.valueOf(role)));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty(); // unknown role
+        }
+    }
+}
@@ -1,18 +1,23 @@
 package com.example.postfolio.postservice.post.controller;
 
+import com.example.postfolio.postservice.config.TokenPrincipal;
 import com.example.postfolio.postservice.post.dto.*;
 import com.example.postfolio.postservice.post.entity.Post;
 import com.example.postfolio.postservice.post.entity.Reaction;
 import com.example.postfolio.postservice.post.models.PostType;
 import com.example.postfolio.postservice.post.repository.ReactionRepository;
 import com.example.postfolio.postservice.post.service.PostService;
+import com.example.postfolio.postservice.profile.entity.Profile;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -26,9 +31,10 @@ public class PostController {
 
     @PostMapping
     public ResponseEntity<PostResponseDTO> createPost(
+            @AuthenticationPrincipal TokenPrincipal principal,
             @RequestBody @Valid CreatePostDTO createPostDTO) {
         Post post = postService.createPost(
-                createPostDTO.getProfileId(),
+                callerProfileId(principal),
                 createPostDTO.getContent()
         );
         return ResponseEntity.ok(convertToDto(post));
@@ -95,11 +101,12 @@ public class PostController {
 
     @PutMapping("/{postId}")
     public ResponseEntity<PostResponseDTO> updatePost(
+            @AuthenticationPrincipal TokenPrincipal principal,
             @PathVariable Long postId,
             @RequestBody @Valid UpdatePostDTO updatePostDTO) {
         Post post = postService.updatePost(
                 postId,
-                updatePostDTO.getProfileId(),
+                callerProfileId(principal),
                 updatePostDTO.getContent()
         );
         return ResponseEntity.ok(convertToDto(post));
@@ -107,11 +114,12 @@ public class PostController {
 
     @PutMapping("/{postId}/tags")
     public ResponseEntity<PostResponseDTO> updatePostTags(
+            @AuthenticationPrincipal TokenPrincipal principal,
             @PathVariable Long postId,
             @RequestBody @Valid TagUpdateDTO tagUpdateDTO) {
         Post post = postService.updatePostTags(
                 postId,
-                tagUpdateDTO.getProfileId(),
+                callerProfileId(principal),
                 tagUpdateDTO.getTags()
         );
         return ResponseEntity.ok(convertToDto(post));
@@ -119,9 +127,9 @@ public class PostController {
 
     @PostMapping("/{postId}/celebrate")
     public ResponseEntity<Void> celebratePost(
-            @PathVariable Long postId,
-            @RequestParam Long profileId) {
-        postService.celebratePost(postId, profileId);
+            @AuthenticationPrincipal TokenPrincipal principal,
+            @PathVariable Long postId) {
+        postService.celebratePost(postId, principal.userId());
         return ResponseEntity.ok().build();
     }
 
@@ -133,9 +141,9 @@ public class PostController {
 
     @DeleteMapping("/{postId}")
     public ResponseEntity<Void> deletePost(
-            @PathVariable Long postId,
-            @RequestParam Long profileId) {
-        postService.deletePost(postId, profileId);
+            @AuthenticationPrincipal TokenPrincipal principal,
+            @PathVariable Long postId) {
+        postService.deletePost(postId, callerProfileId(principal));
         return ResponseEntity.noContent().build();
     }
 
@@ -145,6 +153,14 @@ public class PostController {
         return ResponseEntity.ok(convertToDtoList(posts));
     }
 
+    // The acting profile is the caller's own, from their token; any profileId the client sends is ignored
+    private Long callerProfileId(TokenPrincipal principal) {
+        if (principal.profileId() == null) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "No profile for this account");
+        }
+        return principal.profileId();
+    }
+
     private PostResponseDTO convertToDto(Post post) {
         List<Reaction> reactions = reactionRepository.findByPostWithUser(post);
         List<ReactionResponseDTO> reactionDtos = postService.convertReactionsToDto(reactions);
@@ -158,12 +174,21 @@ public class PostController {
                 .autoTagged(post.getAutoTagged())
                 .profileId(post.getProfile().getId())
                 .profileName(post.getProfile().getUser().getName())
-                .profilePictureBase64(post.getProfile().getPictureBase64())
+                .profilePictureUrl(pictureUrl(post.getProfile()))
                 .createdAt(post.getCreatedAt())
                 .reactions(reactionDtos)
                 .build();
     }
 
+    // Pictures are served, with long-lived caching, by the main server's /api/profile/{id}/picture
+    private String pictureUrl(Profile profile) {
+        if (profile.getPictureHash() == null) {
+            return null;
+        }
+        // 48 CSS px feed avatars, requested at 2x
+        return "/api/profile/" + profile.getId() + "/picture?v=" + profile.getPictureHash().substring(0, 16) + "&size=96";
+    }
+
     private List<PostResponseDTO> convertToDtoList(List<Post> posts) {
         return posts.stream()
                 .map(this::convertToDto)
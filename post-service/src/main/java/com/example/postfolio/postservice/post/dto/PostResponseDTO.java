@@ -18,7 +18,7 @@ public class PostResponseDTO {
     private Boolean autoTagged;
     private Long profileId;
     private String profileName;
-    private String profilePictureBase64;
+    private String profilePictureUrl;
     private LocalDateTime createdAt;
     private List<ReactionResponseDTO> reactions;
 } 
\ No newline at end of file
@@ -7,9 +7,6 @@ import java.util.List;
 
 @Data
 public class TagUpdateDTO {
-    @NotNull
-    private Long profileId;
-
     @NotNull
     private List<String> tags;
 } 
\ No newline at end of file
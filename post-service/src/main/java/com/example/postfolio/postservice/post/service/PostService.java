@@ -168,11 +168,10 @@ public class PostService {
     }
 
     @Transactional
-    public void celebratePost(Long postId, Long profileId) {
+    public void celebratePost(Long postId, Long userId) {
         Post post = getPostById(postId);
-        Profile profile = profileRepository.findById(profileId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Profile not found"));
-        User user = profile.getUser();
+        // The id comes from a verified token, so a reference is enough
+        User user = userRepository.getReferenceById(userId);
         
         if (reactionRepository.existsByPostAndUser(post, user)) {
             throw new RuntimeException("User already celebrated this post");
@@ -19,8 +19,9 @@ public class Profile {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(name = "profile_picture", length = 10485760)
-    private String pictureBase64;
+    // Maintained by the main server, which stores the picture in its blob store and serves it
+    @Column(name = "picture_hash", length = 64)
+    private String pictureHash;
 
     private String bio;
     private LocalDate birthDate;
@@ -0,0 +1,122 @@
+package com.example.postfolio.common.blob;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed blob store on the local filesystem.
+ * Blobs are immutable and named by the SHA-256 of their bytes (ab/cd/abcd...), so storing the same
+ * content twice keeps a single copy and a hash is all a referencing row needs to hold.
+ */
+@Slf4j
+@Component
+public class BlobStore {
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+    private final Path incoming;
+
+    public BlobStore(@Value("${blob.store.path:data/blobs}") String root) throws IOException {
+        this.root = Path.of(root).toAbsolutePath();
+        this.incoming = this.root.resolve("incoming");
+        Files.createDirectories(incoming);
+    }
+
+    /**
+     * Stream the content to disk while hashing it and return its hash.
+     * Nothing is buffered in memory beyond a copy buffer; duplicates are dropped after the upload.
+     */
+    public String store(InputStream content) throws IOException {
+        Path temp = Files.createTempFile(incoming, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                content.transferTo(out);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+
+            Path target = pathOf(hash);
+            if (Files.exists(target)) {
+                return hash;
+            }
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // Same content stored concurrently; the existing copy is identical
+            }
+            return hash;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public boolean exists(String hash) {
+        return Files.isRegularFile(pathOf(hash));
+    }
+
+    public long size(String hash) throws IOException {
+        return Files.size(pathOf(hash));
+    }
+
+    public Path pathOf(String hash) {
+        if (hash == null || !HASH.matcher(hash).matches()) {
+            throw new IllegalArgumentException("Invalid blob hash: " + hash);
+        }
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    public byte[] readAllBytes(String hash) throws IOException {
+        return Files.readAllBytes(pathOf(hash));
+    }
+
+    /** The first bytes of a blob, enough for content sniffing. */
+    public byte[] readHead(String hash, int maxBytes) throws IOException {
+        try (InputStream in = Files.newInputStream(pathOf(hash))) {
+            return in.readNBytes(maxBytes);
+        }
+    }
+
+    /**
+     * Copy a byte range of a blob with FileChannel.transferTo, which lets the kernel move the bytes
+     * without passing them through the heap when the target allows it.
+     */
+    public void transferTo(String hash, long position, long count, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(pathOf(hash), StandardOpenOption.READ)) {
+            long end = position + count;
+            while (position < end) {
+                long sent = channel.transferTo(position, end - position, target);
+                if (sent <= 0) {
+                    throw new IOException("Blob " + hash + " ended before " + end + " bytes");
+                }
+                position += sent;
+            }
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.postfolio.common.collection;
+
+/**
+ * Intersections of sorted, duplicate-free long arrays. Similar sizes are merged linearly; when
+ * one side is much larger, each element of the smaller one is located by galloping (exponential
+ * then binary search) from the previous match, which costs O(m log(n/m)) instead of O(m + n).
+ */
+public final class SortedLongArrays {
+
+    // Size ratio above which galloping beats a linear merge
+    static final int GALLOP_RATIO = 16;
+
+    private SortedLongArrays() {
+    }
+
+    public static int intersectionSize(long[] a, long[] b) {
+        return intersect(a, b, null);
+    }
+
+    /**
+     * Size of the intersection, writing its first {@code sample.length} elements (ascending)
+     * into {@code sample}; pass null when only the count is needed
+     */
+    public static int intersect(long[] a, long[] b, long[] sample) {
+        long[] small = a.length <= b.length ? a : b;
+        long[] large = small == a ? b : a;
+        if (small.length == 0) {
+            return 0;
+        }
+        if ((long) small.length * GALLOP_RATIO < large.length) {
+            return gallop(small, large, sample);
+        }
+        return merge(small, large, sample);
+    }
+
+    static int merge(long[] a, long[] b, long[] sample) {
+        int sampleLimit = sample != null ? sample.length : 0;
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            long x = a[i];
+            long y = b[j];
+            if (x < y) {
+                i++;
+            } else if (x > y) {
+                j++;
+            } else {
+                if (count < sampleLimit) {
+                    sample[count] = x;
+                }
+                count++;
+                i++;
+                j++;
+            }
+        }
+        return count;
+    }
+
+    static int gallop(long[] small, long[] large, long[] sample) {
+        int sampleLimit = sample != null ? sample.length : 0;
+        int count = 0;
+        int low = 0;
+        for (long target : small) {
+            // Exponential probe from the last position, then binary search inside the bracket
+            int step = 1;
+            int high = low;
+            while (high < large.length && large[high] < target) {
+                low = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            if (high >= large.length) {
+                high = large.length - 1;
+                if (low > high) {
+                    break; // every remaining target is past the end of large
+                }
+            }
+            int found = binarySearch(large, low, high, target);
+            if (found >= 0) {
+                if (count < sampleLimit) {
+                    sample[count] = target;
+                }
+                count++;
+                low = found + 1;
+            } else {
+                low = -found - 1;
+            }
+            if (low >= large.length) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    // Inclusive bounds; returns the index, or -(insertion point) - 1
+    private static int binarySearch(long[] array, int low, int high, long target) {
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long value = array[mid];
+            if (value < target) {
+                low = mid + 1;
+            } else if (value > target) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.postfolio.common.image.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * A square, downscaled copy of an image blob. Keyed by the source blob so identical uploads share
+ * their renditions. When the source is smaller than the target size the source itself is recorded,
+ * so every configured size has a row once generation is done. The same holds for every size of an
+ * image that cannot or should not be decoded.
+ */
+@Entity
+@Table(name = "image_renditions", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_image_renditions_source_size", columnNames = {"source_hash", "size"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImageRendition {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "source_hash", nullable = false, length = 64)
+    private String sourceHash;
+
+    @Column(nullable = false)
+    private int size;
+
+    @Column(name = "rendition_hash", nullable = false, length = 64)
+    private String renditionHash;
+
+    @Column(nullable = false, length = 64)
+    private String contentType;
+}
@@ -0,0 +1,13 @@
+package com.example.postfolio.common.image.repository;
+
+import com.example.postfolio.common.image.entity.ImageRendition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ImageRenditionRepository extends JpaRepository<ImageRendition, Long> {
+
+    List<ImageRendition> findBySourceHashOrderBySizeAsc(String sourceHash);
+}
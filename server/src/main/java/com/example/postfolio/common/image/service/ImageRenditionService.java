@@ -0,0 +1,262 @@
+package com.example.postfolio.common.image.service;
+
+import com.example.postfolio.common.blob.BlobStore;
+import com.example.postfolio.common.image.entity.ImageRendition;
+import com.example.postfolio.common.image.repository.ImageRenditionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * Fixed-size square renditions of uploaded images, produced off the request path on a small
+ * CPU-bound executor and stored in the blob store. Consumers ask for the size they display and get
+ * the smallest rendition that covers it.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImageRenditionService {
+
+    private final ImageRenditionRepository imageRenditionRepository;
+    private final BlobStore blobStore;
+
+    @Value("${image.renditions.sizes:48,128,400}")
+    private List<Integer> sizes;
+
+    @Value("${image.renditions.threads:2}")
+    private int threads;
+
+    @Value("${image.renditions.jpeg-quality:0.85}")
+    private float jpegQuality;
+
+    // Larger images are never decoded; a small compressed file can expand to gigabytes of raster
+    @Value("${image.renditions.max-pixels:40000000}")
+    private long maxPixels;
+
+    private ExecutorService executor;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The blob to serve for a requested display size. complete is false while renditions are still
+     * being generated, in which case the original is returned and should not be cached for long.
+     */
+    public record Variant(String hash, String contentType, boolean complete) {}
+
+    @PostConstruct
+    void start() {
+        sizes = sizes.stream().sorted().distinct().toList();
+        executor = Executors.newFixedThreadPool(threads,
+                Thread.ofPlatform().name("image-renditions-", 0).daemon().factory());
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queue rendition generation for a freshly stored image; sizes that already exist are skipped
+     */
+    public void generateAsync(String sourceHash, String sourceContentType) {
+        if (!inFlight.add(sourceHash)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(sourceHash, sourceContentType);
+                } catch (Exception e) {
+                    log.warn("Could not render image {}: {}", sourceHash, e.getMessage());
+                } finally {
+                    inFlight.remove(sourceHash);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(sourceHash);
+        }
+    }
+
+    /**
+     * Smallest rendition at least size pixels wide, or the original when size is null or larger than
+     * every rendition. Missing renditions are queued and the original is served meanwhile.
+     */
+    public Variant pick(String sourceHash, String sourceContentType, Integer size) {
+        if (size == null || size > sizes.get(sizes.size() - 1)) {
+            return new Variant(sourceHash, sourceContentType, true);
+        }
+        List<ImageRendition> renditions = imageRenditionRepository.findBySourceHashOrderBySizeAsc(sourceHash);
+        if (renditions.size() < sizes.size()) {
+            generateAsync(sourceHash, sourceContentType);
+            return new Variant(sourceHash, sourceContentType, false);
+        }
+        return renditions.stream()
+                .filter(rendition -> rendition.getSize() >= size)
+                .findFirst()
+                .map(rendition -> new Variant(rendition.getRenditionHash(), rendition.getContentType(), true))
+                .orElse(new Variant(sourceHash, sourceContentType, true));
+    }
+
+    public byte[] readForSize(String sourceHash, String sourceContentType, int size) throws IOException {
+        return blobStore.readAllBytes(pick(sourceHash, sourceContentType, size).hash());
+    }
+
+    private void generate(String sourceHash, String sourceContentType) throws IOException {
+        Set<Integer> existing = imageRenditionRepository.findBySourceHashOrderBySizeAsc(sourceHash).stream()
+                .map(ImageRendition::getSize)
+                .collect(Collectors.toSet());
+        if (existing.containsAll(sizes)) {
+            return;
+        }
+
+        BufferedImage source = decode(sourceHash, sourceContentType);
+        if (source == null) {
+            // Decided once: every size serves the original from now on
+            for (int size : sizes) {
+                if (!existing.contains(size)) {
+                    save(ImageRendition.builder()
+                            .sourceHash(sourceHash)
+                            .size(size)
+                            .renditionHash(sourceHash)
+                            .contentType(sourceContentType)
+                            .build());
+                }
+            }
+            return;
+        }
+        boolean alpha = source.getColorModel().hasAlpha();
+        int side = Math.min(source.getWidth(), source.getHeight());
+
+        for (int size : sizes) {
+            if (existing.contains(size)) {
+                continue;
+            }
+            ImageRendition rendition = ImageRendition.builder()
+                    .sourceHash(sourceHash)
+                    .size(size)
+                    .build();
+            if (size >= side) {
+                // Never upscale: the original already is the best this size can get
+                rendition.setRenditionHash(sourceHash);
+                rendition.setContentType(sourceContentType);
+            } else {
+                BufferedImage scaled = squareThumbnail(source, size, alpha);
+                byte[] encoded = alpha ? encodePng(scaled) : encodeJpeg(scaled);
+                rendition.setRenditionHash(blobStore.store(new ByteArrayInputStream(encoded)));
+                rendition.setContentType(alpha ? "image/png" : "image/jpeg");
+            }
+            save(rendition);
+        }
+    }
+
+    private void save(ImageRendition rendition) {
+        try {
+            imageRenditionRepository.save(rendition);
+        } catch (DataIntegrityViolationException e) {
+            // Generated concurrently for an identical upload
+        }
+    }
+
+    /**
+     * The decoded image, or null when there is no reader for its format, it has more than maxPixels
+     * pixels or it cannot be decoded. Dimensions come from the header, before any raster is allocated.
+     */
+    private BufferedImage decode(String sourceHash, String sourceContentType) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(blobStore.pathOf(sourceHash).toFile())) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : Collections.emptyIterator();
+            if (!readers.hasNext()) {
+                log.debug("No image reader for {} ({})", sourceHash, sourceContentType);
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    log.info("Not rendering image {}: {} pixels exceeds {}", sourceHash, pixels, maxPixels);
+                    return null;
+                }
+                return reader.read(0);
+            } catch (IOException | RuntimeException e) {
+                log.info("Not rendering undecodable image {}: {}", sourceHash, e.getMessage());
+                return null;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Center crop to a square, then halve repeatedly before the final bilinear step to keep it sharp
+    private BufferedImage squareThumbnail(BufferedImage source, int size, boolean alpha) {
+        int side = Math.min(source.getWidth(), source.getHeight());
+        BufferedImage current = source.getSubimage(
+                (source.getWidth() - side) / 2, (source.getHeight() - side) / 2, side, side);
+        int currentSize = side;
+        do {
+            currentSize = Math.max(size, currentSize / 2);
+            current = resize(current, currentSize, alpha);
+        } while (currentSize > size);
+        return current;
+    }
+
+    private BufferedImage resize(BufferedImage image, int size, boolean alpha) {
+        BufferedImage resized = new BufferedImage(size, size,
+                alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, size, size, null);
+        } finally {
+            graphics.dispose();
+        }
+        return resized;
+    }
+
+    private byte[] encodePng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.setOutput(stream);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
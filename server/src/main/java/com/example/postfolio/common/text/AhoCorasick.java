@@ -0,0 +1,160 @@
+package com.example.postfolio.common.text;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Case-insensitive multi-pattern matcher. Patterns are compiled into a dense automaton over ASCII,
+ * so scanning a text is a single pass with one array lookup per character regardless of how many
+ * patterns there are. Characters outside ASCII never match and restart the scan.
+ */
+public final class AhoCorasick {
+
+    private static final int ALPHABET = 128;
+    private static final int ROOT = 0;
+
+    private final int[][] next;
+    // Pattern ending exactly at a node, or -1
+    private final int[] patternAt;
+    // Nearest proper suffix node that ends a pattern, or -1
+    private final int[] outputLink;
+    private final int[] patternLengths;
+
+    private AhoCorasick(int[][] next, int[] patternAt, int[] outputLink, int[] patternLengths) {
+        this.next = next;
+        this.patternAt = patternAt;
+        this.outputLink = outputLink;
+        this.patternLengths = patternLengths;
+    }
+
+    @FunctionalInterface
+    public interface MatchHandler {
+        /** Called for every occurrence, with end exclusive. */
+        void onMatch(int patternId, int start, int end);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int patternCount() {
+        return patternLengths.length;
+    }
+
+    public void forEachMatch(CharSequence text, MatchHandler handler) {
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= ALPHABET) {
+                state = ROOT;
+                continue;
+            }
+            state = next[state][fold(c)];
+            for (int node = patternAt[state] >= 0 ? state : outputLink[state]; node >= 0; node = outputLink[node]) {
+                int patternId = patternAt[node];
+                handler.onMatch(patternId, i + 1 - patternLengths[patternId], i + 1);
+            }
+        }
+    }
+
+    /** True when the match is not glued to letters or digits on either side. */
+    public static boolean isWholeWord(CharSequence text, int start, int end) {
+        return (start == 0 || !Character.isLetterOrDigit(text.charAt(start - 1)))
+                && (end == text.length() || !Character.isLetterOrDigit(text.charAt(end)));
+    }
+
+    private static int fold(char c) {
+        return c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c;
+    }
+
+    public static final class Builder {
+        private final List<int[]> children = new ArrayList<>();
+        private final List<Integer> nodePatterns = new ArrayList<>();
+        private final List<Integer> lengths = new ArrayList<>();
+
+        private Builder() {
+            newNode();
+        }
+
+        /**
+         * Add a pattern and return its id. Ids are assigned in insertion order; adding the same pattern
+         * twice (ignoring case) returns the first id.
+         */
+        public int add(String pattern) {
+            if (pattern.isEmpty()) {
+                throw new IllegalArgumentException("Pattern must not be empty");
+            }
+            int node = ROOT;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                if (c >= ALPHABET) {
+                    throw new IllegalArgumentException("Only ASCII patterns are supported: " + pattern);
+                }
+                int child = children.get(node)[fold(c)];
+                if (child < 0) {
+                    child = newNode();
+                    children.get(node)[fold(c)] = child;
+                }
+                node = child;
+            }
+            if (nodePatterns.get(node) < 0) {
+                nodePatterns.set(node, lengths.size());
+                lengths.add(pattern.length());
+            }
+            return nodePatterns.get(node);
+        }
+
+        public AhoCorasick build() {
+            int size = children.size();
+            int[][] next = new int[size][];
+            int[] fail = new int[size];
+            int[] patternAt = new int[size];
+            int[] outputLink = new int[size];
+            for (int node = 0; node < size; node++) {
+                next[node] = children.get(node).clone();
+                patternAt[node] = nodePatterns.get(node);
+            }
+
+            // Breadth-first so every failure target is complete before it is copied from
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            outputLink[ROOT] = -1;
+            for (int c = 0; c < ALPHABET; c++) {
+                int child = next[ROOT][c];
+                if (child < 0) {
+                    next[ROOT][c] = ROOT;
+                } else {
+                    fail[child] = ROOT;
+                    outputLink[child] = -1;
+                    queue.add(child);
+                }
+            }
+            while (!queue.isEmpty()) {
+                int node = queue.poll();
+                for (int c = 0; c < ALPHABET; c++) {
+                    int child = next[node][c];
+                    if (child < 0) {
+                        next[node][c] = next[fail[node]][c];
+                    } else {
+                        int suffix = next[fail[node]][c];
+                        fail[child] = suffix;
+                        outputLink[child] = patternAt[suffix] >= 0 ? suffix : outputLink[suffix];
+                        queue.add(child);
+                    }
+                }
+            }
+
+            int[] patternLengths = lengths.stream().mapToInt(Integer::intValue).toArray();
+            return new AhoCorasick(next, patternAt, outputLink, patternLengths);
+        }
+
+        private int newNode() {
+            int[] edges = new int[ALPHABET];
+            Arrays.fill(edges, -1);
+            children.add(edges);
+            nodePatterns.add(-1);
+            return children.size() - 1;
+        }
+    }
+}
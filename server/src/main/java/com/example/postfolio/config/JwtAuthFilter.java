@@ -3,7 +3,9 @@ package com.example.postfolio.config;
 
 
 import com.example.postfolio.user.repository.UserRepository;
-import com.example.postfolio.user.entity.User;
+import com.example.postfolio.user.dto.AuthenticatedUser;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,6 +25,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(
@@ -40,17 +43,16 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
 
         final String jwt = authHeader.substring(7); // Remove "Bearer "
-        final String userEmail = jwtService.extractUsername(jwt);
 
         // Only authenticate if no user is currently authenticated
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            User user = userRepository.findByEmail(userEmail).orElse(null);
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            AuthenticatedUser principal = principalCache.get(jwt).orElseGet(() -> verify(jwt));
 
-            if (user != null && jwtService.isTokenValid(jwt, user)) {
+            if (principal != null) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        user,
+                        principal,
                         null,
-                        user.getAuthorities()
+                        principal.authorities()
                 );
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
@@ -59,5 +61,23 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    // Cache miss: parse once, load the principal's scalar columns and cache it until the token expires
+    private AuthenticatedUser verify(String jwt) {
+        Claims claims;
+        try {
+            claims = jwtService.parseClaims(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null; // bad signature, expired or malformed: stays unauthenticated
+        }
+
+        // Read first, so a role change committed during the lookup keeps this principal out of the cache
+        long generation = principalCache.generation();
+        AuthenticatedUser principal = userRepository.findAuthenticatedUserByEmail(claims.getSubject()).orElse(null);
+        if (principal != null && claims.getExpiration() != null) {
+            principalCache.put(jwt, principal, claims.getExpiration().toInstant(), generation);
+        }
+        return principal;
+    }
 }
 
@@ -17,8 +17,17 @@ public class JwtService {
     // Secret key must be 256 bits (32+ chars for HS256)
     private static final String SECRET_KEY = "postfolio-super-secret-key-1234567890!@#$";
 
+    // Built once; both are immutable and thread-safe
+    private final Key signingKey = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+
     private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+        return signingKey;
+    }
+
+    // Verify signature and expiry and return the claims, in a single parse
+    public Claims parseClaims(String token) {
+        return extractAllClaims(token);
     }
 
     // Extract username (email) from token
@@ -55,10 +64,7 @@ public class JwtService {
 
     // Extract all claims
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
+        return parser
                 .parseClaimsJws(token)
                 .getBody();
     }
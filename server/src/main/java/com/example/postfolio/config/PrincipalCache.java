@@ -0,0 +1,174 @@
+package com.example.postfolio.config;
+
+import com.example.postfolio.user.dto.AuthenticatedUser;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Verified tokens and the principal they resolved to, keyed by the token's signature and kept until
+ * the token expires. A hit skips JWT parsing and the user lookup entirely. Lookups take no lock, as
+ * every authenticated request goes through here; once the cache outgrows its bound, expired and then
+ * least recently used entries are trimmed in one pass. Entries of a user must be evicted explicitly
+ * when their role or account changes, which goes through a per-user index instead of a full scan.
+ * <p>
+ * A principal read from the database before an eviction must not be cached after it. Callers read
+ * {@link #generation()} before loading the principal and hand it to {@link #put}, which drops the
+ * principal if any eviction happened in between.
+ */
+@Component
+public class PrincipalCache {
+
+    // Trimming goes a little below the bound so it does not run again on the next put
+    private static final double TRIM_TO = 0.9;
+
+    private final int maxEntries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    // Signatures of each user's cached tokens; only changed inside compute, so always in step with entries
+    private final ConcurrentHashMap<Long, Set<String>> keysByUser = new ConcurrentHashMap<>();
+    private final AtomicBoolean trimming = new AtomicBoolean();
+    // Bumped by every eviction; global, since role changes are rare and a skipped put only costs a lookup
+    private final AtomicLong generation = new AtomicLong();
+
+    private static final class Entry {
+        final String token;
+        final AuthenticatedUser principal;
+        final Instant expiresAt;
+        volatile long lastUsedNanos = System.nanoTime();
+
+        Entry(String token, AuthenticatedUser principal, Instant expiresAt) {
+            this.token = token;
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    public PrincipalCache(@Value("${auth.principal-cache.max-entries:10000}") int maxEntries,
+                          MeterRegistry meterRegistry) {
+        this.maxEntries = maxEntries;
+        FunctionCounter.builder("auth.principal.cache.requests", hits, AtomicLong::get)
+                .tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("auth.principal.cache.requests", misses, AtomicLong::get)
+                .tag("result", "miss").register(meterRegistry);
+        Gauge.builder("auth.principal.cache.size", this, PrincipalCache::size).register(meterRegistry);
+    }
+
+    public Optional<AuthenticatedUser> get(String token) {
+        String key = signatureOf(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+        // The whole token must match, not just a signature transplanted onto another payload
+        if (!entry.token.equals(token) || Instant.now().isAfter(entry.expiresAt)) {
+            remove(key, entry);
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+        entry.lastUsedNanos = System.nanoTime();
+        hits.incrementAndGet();
+        return Optional.of(entry.principal);
+    }
+
+    /**
+     * The eviction generation, to be read before the principal passed to put is loaded
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Cache a principal loaded while the eviction generation was loadedAt; skipped if a user has
+     * been evicted since, as the principal may predate that change
+     */
+    public void put(String token, AuthenticatedUser principal, Instant expiresAt, long loadedAt) {
+        String key = signatureOf(token);
+        keysByUser.compute(principal.id(), (userId, keys) -> {
+            // Checked under the user's mapping: an eviction bumping the generation after this check
+            // waits for the mapping and then removes what is added here
+            if (generation.get() != loadedAt) {
+                return keys;
+            }
+            Set<String> userKeys = keys != null ? keys : new HashSet<>();
+            userKeys.add(key);
+            entries.put(key, new Entry(token, principal, expiresAt));
+            return userKeys;
+        });
+        if (entries.size() > maxEntries && trimming.compareAndSet(false, true)) {
+            try {
+                trim();
+            } finally {
+                trimming.set(false);
+            }
+        }
+    }
+
+    /**
+     * Drop every cached token of a user, so the next request re-reads their role
+     */
+    public void evictUser(Long userId) {
+        generation.incrementAndGet();
+        keysByUser.computeIfPresent(userId, (id, keys) -> {
+            keys.forEach(entries::remove);
+            return null;
+        });
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void remove(String key, Entry entry) {
+        keysByUser.computeIfPresent(entry.principal.id(), (userId, keys) -> {
+            if (entries.remove(key, entry)) {
+                keys.remove(key);
+            }
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    // Expired entries first, then the least recently used until the cache is below the bound
+    private void trim() {
+        Instant now = Instant.now();
+        List<Candidate> live = new ArrayList<>(entries.size());
+        entries.forEach((key, entry) -> {
+            if (now.isAfter(entry.expiresAt)) {
+                remove(key, entry);
+            } else {
+                // Last use is copied, since requests keep updating it while the list is sorted
+                live.add(new Candidate(key, entry, entry.lastUsedNanos));
+            }
+        });
+        int excess = live.size() - (int) (maxEntries * TRIM_TO);
+        if (excess <= 0) {
+            return;
+        }
+        live.sort(Comparator.comparingLong(Candidate::lastUsedNanos));
+        for (int i = 0; i < excess; i++) {
+            remove(live.get(i).key(), live.get(i).entry());
+        }
+    }
+
+    private record Candidate(String key, Entry entry, long lastUsedNanos) {}
+
+    private static String signatureOf(String token) {
+        return token.substring(token.lastIndexOf('.') + 1);
+    }
+}
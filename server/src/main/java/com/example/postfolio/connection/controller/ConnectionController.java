@@ -1,15 +1,24 @@
 package com.example.postfolio.connection.controller;
 
+import com.example.postfolio.common.pagination.CursorPage;
 import com.example.postfolio.connection.dto.ConnectionRequest;
 import com.example.postfolio.connection.dto.ConnectionResponse;
+import com.example.postfolio.connection.dto.MutualConnectionsResponse;
+import com.example.postfolio.connection.dto.SuggestionResponse;
 import com.example.postfolio.connection.entity.Connection;
+import com.example.postfolio.connection.model.ConnectionStatus;
 import com.example.postfolio.connection.service.ConnectionService;
+import com.example.postfolio.connection.service.MutualConnectionService;
+import com.example.postfolio.connection.service.SuggestionService;
 import com.example.postfolio.profile.repository.ProfileRepository;
+import com.example.postfolio.profile.service.ProfilePictureService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -20,6 +29,8 @@ public class ConnectionController {
 
     private final ConnectionService connectionService;
     private final ProfileRepository profileRepository;
+    private final SuggestionService suggestionService;
+    private final MutualConnectionService mutualConnectionService;
 
     @PostMapping("/send")
     public ResponseEntity<ConnectionResponse> sendFriendRequest(@RequestBody ConnectionRequest request) {
@@ -54,6 +65,17 @@ public class ConnectionController {
         return ResponseEntity.ok(responses);
     }
 
+    // Keyset mode: selected by the cursor parameter (empty for the first page)
+    @GetMapping(value = "/my", params = "cursor")
+    public ResponseEntity<CursorPage<ConnectionResponse>> getMyConnectionsPage(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
+        CursorPage<Connection> page = connectionService.getMyConnectionsPage(cursor, limit);
+        return ResponseEntity.ok(page.mapItems(connections -> connections.stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList())));
+    }
+
     @GetMapping("/pending/sent")
     public ResponseEntity<List<ConnectionResponse>> getPendingRequestsSent() {
         List<Connection> connections = connectionService.getPendingRequestsSent();
@@ -78,6 +100,38 @@ public class ConnectionController {
         return ResponseEntity.ok(status != null ? status.name() : "NONE");
     }
 
+    @GetMapping("/suggestions")
+    public ResponseEntity<List<SuggestionResponse>> getSuggestions(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(suggestionService.getSuggestionsForCurrentUser(limit));
+    }
+
+    @GetMapping("/mutual/{userId}")
+    public ResponseEntity<MutualConnectionsResponse> getMutualConnections(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "3") int sample) {
+        return ResponseEntity.ok(mutualConnectionService.getMutualConnections(userId, sample));
+    }
+
+    // Batch form for a page of profiles: ?userIds=1,2,3
+    @GetMapping("/mutual")
+    public ResponseEntity<List<MutualConnectionsResponse>> getMutualConnectionsBatch(
+            @RequestParam List<Long> userIds,
+            @RequestParam(defaultValue = "3") int sample) {
+        return ResponseEntity.ok(mutualConnectionService.getMutualConnections(userIds, sample));
+    }
+
+    // Batch form for lists: ?userIds=1,2,3 gives {"1": "ACCEPTED", "2": "NONE", ...}
+    @GetMapping("/status")
+    public ResponseEntity<Map<Long, String>> getConnectionStatuses(@RequestParam List<Long> userIds) {
+        Map<Long, ConnectionStatus> statuses = connectionService.getConnectionStatuses(userIds);
+        Map<Long, String> response = new LinkedHashMap<>();
+        for (Long userId : userIds) {
+            ConnectionStatus status = statuses.get(userId);
+            response.put(userId, status != null ? status.name() : "NONE");
+        }
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/count")
     public ResponseEntity<Long> getConnectionCount() {
         long count = connectionService.getConnectionCount();
@@ -95,12 +149,12 @@ public class ConnectionController {
                 .requesterName(connection.getRequester().getName())
                 .requesterEmail(connection.getRequester().getEmail())
                 .requesterProfileId(requesterProfile.map(p -> p.getId()).orElse(null))
-                .requesterPictureBase64(requesterProfile.map(p -> p.getPictureBase64()).orElse(null))
+                .requesterPictureUrl(requesterProfile.map(p -> ProfilePictureService.pictureUrl(p.getId(), p.getPictureHash(), ProfilePictureService.LIST_AVATAR_SIZE)).orElse(null))
                 .receiverId(connection.getReceiver().getId())
                 .receiverName(connection.getReceiver().getName())
                 .receiverEmail(connection.getReceiver().getEmail())
                 .receiverProfileId(receiverProfile.map(p -> p.getId()).orElse(null))
-                .receiverPictureBase64(receiverProfile.map(p -> p.getPictureBase64()).orElse(null))
+                .receiverPictureUrl(receiverProfile.map(p -> ProfilePictureService.pictureUrl(p.getId(), p.getPictureHash(), ProfilePictureService.LIST_AVATAR_SIZE)).orElse(null))
                 .status(connection.getStatus())
                 .createdAt(connection.getCreatedAt())
                 .updatedAt(connection.getUpdatedAt())
@@ -0,0 +1,6 @@
+package com.example.postfolio.connection.dto;
+
+import com.example.postfolio.connection.model.ConnectionStatus;
+
+// One connection row without its users, for loading the in-memory graph
+public record ConnectionEdgeRow(Long id, Long requesterId, Long receiverId, ConnectionStatus status) {}
@@ -14,12 +14,12 @@ public class ConnectionResponse {
     private String requesterName;
     private String requesterEmail;
     private Long requesterProfileId;
-    private String requesterPictureBase64;
+    private String requesterPictureUrl;
     private Long receiverId;
     private String receiverName;
     private String receiverEmail;
     private Long receiverProfileId;
-    private String receiverPictureBase64;
+    private String receiverPictureUrl;
     private ConnectionStatus status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -0,0 +1,15 @@
+package com.example.postfolio.connection.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class MutualConnectionsResponse {
+    private Long userId;
+    private int count;
+    // The first few mutual connections, for "N mutual connections including ..."
+    private List<UserSummaryResponse> sample;
+}
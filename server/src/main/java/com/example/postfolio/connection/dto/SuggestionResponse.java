@@ -0,0 +1,15 @@
+package com.example.postfolio.connection.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class SuggestionResponse {
+    private Long userId;
+    private String name;
+    private Long profileId;
+    private String pictureUrl;
+    private int mutualConnections;
+    private int sharedTags;
+}
@@ -0,0 +1,13 @@
+package com.example.postfolio.connection.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class UserSummaryResponse {
+    private Long userId;
+    private String name;
+    private Long profileId;
+    private String pictureUrl;
+}
@@ -8,7 +8,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "connections")
+@Table(name = "connections", indexes = {
+        @Index(name = "idx_connections_requester_status", columnList = "requester_id, status, createdAt"),
+        @Index(name = "idx_connections_receiver_status", columnList = "receiver_id, status, createdAt")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,5 +1,6 @@
 package com.example.postfolio.connection.repository;
 
+import com.example.postfolio.connection.dto.ConnectionEdgeRow;
 import com.example.postfolio.connection.entity.Connection;
 import com.example.postfolio.connection.model.ConnectionStatus;
 import com.example.postfolio.user.entity.User;
@@ -10,6 +11,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -40,20 +42,23 @@ public interface ConnectionRepository extends JpaRepository<Connection, Long> {
            "(c.requester = :user OR c.receiver = :user) AND c.status = :status")
     List<Connection> findConnectionsByUserAndStatus(@Param("user") User user, @Param("status") ConnectionStatus status);
     
-    // Check if two users are connected (accepted status)
-    @Query("SELECT COUNT(c) > 0 FROM Connection c WHERE " +
-           "((c.requester = :user1 AND c.receiver = :user2) OR " +
-           "(c.requester = :user2 AND c.receiver = :user1)) AND c.status = 'ACCEPTED'")
-    boolean areUsersConnected(@Param("user1") User user1, @Param("user2") User user2);
-    
-    // Check if there's a pending request between users
-    @Query("SELECT COUNT(c) > 0 FROM Connection c WHERE " +
-           "((c.requester = :user1 AND c.receiver = :user2) OR " +
-           "(c.requester = :user2 AND c.receiver = :user1)) AND c.status = 'PENDING'")
-    boolean hasPendingRequest(@Param("user1") User user1, @Param("user2") User user2);
-    
-    // Get connection count for a user (accepted only)
-    @Query("SELECT COUNT(c) FROM Connection c WHERE " +
-           "(c.requester = :user OR c.receiver = :user) AND c.status = 'ACCEPTED'")
-    long countAcceptedConnectionsByUser(@Param("user") User user);
-} 
\ No newline at end of file
+    // Keyset pagination of accepted connections for a user, newest first
+    @Query("SELECT c FROM Connection c WHERE " +
+           "(c.requester = :user OR c.receiver = :user) AND c.status = 'ACCEPTED' " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Connection> findAcceptedConnectionsPageByUser(@Param("user") User user, Pageable pageable);
+
+    @Query("SELECT c FROM Connection c WHERE " +
+           "(c.requester = :user OR c.receiver = :user) AND c.status = 'ACCEPTED' " +
+           "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Connection> findAcceptedConnectionsPageByUserBefore(@Param("user") User user,
+                                                             @Param("createdAt") LocalDateTime createdAt,
+                                                             @Param("id") Long id,
+                                                             Pageable pageable);
+
+    // Keyset scan of every edge, in id order so a later row for the same pair wins
+    @Query("SELECT new com.example.postfolio.connection.dto.ConnectionEdgeRow(c.id, c.requester.id, c.receiver.id, c.status) " +
+           "FROM Connection c WHERE c.id > :afterId ORDER BY c.id")
+    List<ConnectionEdgeRow> findEdgesAfter(@Param("afterId") Long afterId, Pageable pageable);
+}
@@ -0,0 +1,292 @@
+package com.example.postfolio.connection.service;
+
+import com.example.postfolio.common.collection.LongHashSet;
+import com.example.postfolio.common.collection.LongObjectHashMap;
+import com.example.postfolio.connection.dto.ConnectionEdgeRow;
+import com.example.postfolio.connection.model.ConnectionStatus;
+import com.example.postfolio.connection.repository.ConnectionRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory copy of the connections table as primitive adjacency sets, so status, membership and
+ * count checks are hash lookups instead of two-direction OR queries. Loaded once at startup and
+ * kept current by ConnectionService, which writes through after each commit. Only this process's
+ * writes are seen, which holds as long as the main server is the only writer of connections.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ConnectionGraph {
+
+    private final ConnectionRepository connectionRepository;
+
+    @Value("${connection.graph.load-batch-size:10000}")
+    private int loadBatchSize;
+
+    private static final long[] NO_USERS = new long[0];
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private LongObjectHashMap<Node> nodes = new LongObjectHashMap<>();
+
+    // Edges of one user by state; sets are created on first use since most users have few kinds
+    private static final class Node {
+        LongHashSet accepted;
+        LongHashSet pendingSent;
+        LongHashSet pendingReceived;
+        LongHashSet rejected;
+        LongHashSet blocked;
+        // Sorted copy of accepted, rebuilt lazily after a change; shared with readers, never modified
+        volatile long[] sortedAccepted;
+
+        long[] sortedAccepted() {
+            long[] sorted = sortedAccepted;
+            if (sorted == null) {
+                sorted = accepted != null ? accepted.toSortedArray() : NO_USERS;
+                sortedAccepted = sorted;
+            }
+            return sorted;
+        }
+
+        static boolean has(LongHashSet set, long id) {
+            return set != null && set.contains(id);
+        }
+
+        static void drop(LongHashSet set, long id) {
+            if (set != null) {
+                set.remove(id);
+            }
+        }
+
+        ConnectionStatus statusWith(long other) {
+            if (has(accepted, other)) return ConnectionStatus.ACCEPTED;
+            if (has(pendingSent, other) || has(pendingReceived, other)) return ConnectionStatus.PENDING;
+            if (has(blocked, other)) return ConnectionStatus.BLOCKED;
+            if (has(rejected, other)) return ConnectionStatus.REJECTED;
+            return null;
+        }
+
+        void clear(long other) {
+            if (has(accepted, other)) {
+                accepted.remove(other);
+                sortedAccepted = null;
+            }
+            drop(pendingSent, other);
+            drop(pendingReceived, other);
+            drop(rejected, other);
+            drop(blocked, other);
+        }
+
+        LongHashSet accepted() {
+            sortedAccepted = null; // only called to add
+            return accepted != null ? accepted : (accepted = new LongHashSet());
+        }
+
+        LongHashSet pendingSent() {
+            return pendingSent != null ? pendingSent : (pendingSent = new LongHashSet());
+        }
+
+        LongHashSet pendingReceived() {
+            return pendingReceived != null ? pendingReceived : (pendingReceived = new LongHashSet());
+        }
+
+        LongHashSet rejected() {
+            return rejected != null ? rejected : (rejected = new LongHashSet());
+        }
+
+        LongHashSet blocked() {
+            return blocked != null ? blocked : (blocked = new LongHashSet());
+        }
+    }
+
+    /**
+     * Build the graph from the connections table, in keyset batches
+     */
+    @PostConstruct
+    public void load() {
+        long started = System.currentTimeMillis();
+        LongObjectHashMap<Node> loaded = new LongObjectHashMap<>();
+        long lastId = 0;
+        int edges = 0;
+        List<ConnectionEdgeRow> batch;
+        do {
+            batch = connectionRepository.findEdgesAfter(lastId, PageRequest.of(0, loadBatchSize));
+            for (ConnectionEdgeRow edge : batch) {
+                apply(loaded, edge.requesterId(), edge.receiverId(), edge.status());
+                lastId = edge.id();
+            }
+            edges += batch.size();
+        } while (batch.size() == loadBatchSize);
+
+        lock.writeLock().lock();
+        try {
+            nodes = loaded;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Loaded connection graph: {} users, {} edges in {} ms",
+                loaded.size(), edges, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Record the current state of the connection between two users, replacing any previous one
+     */
+    public void put(long requesterId, long receiverId, ConnectionStatus status) {
+        lock.writeLock().lock();
+        try {
+            apply(nodes, requesterId, receiverId, status);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Forget the connection between two users
+     */
+    public void remove(long userId1, long userId2) {
+        lock.writeLock().lock();
+        try {
+            clearPair(nodes, userId1, userId2);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Status of the connection between two users, or null if there is none
+     */
+    public ConnectionStatus status(long userId1, long userId2) {
+        lock.readLock().lock();
+        try {
+            Node node = nodes.get(userId1);
+            return node != null ? node.statusWith(userId2) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Status between one user and each of several others (null where there is none), under one lock
+     */
+    public ConnectionStatus[] statuses(long userId, long[] otherUserIds) {
+        ConnectionStatus[] result = new ConnectionStatus[otherUserIds.length];
+        lock.readLock().lock();
+        try {
+            Node node = nodes.get(userId);
+            if (node != null) {
+                for (int i = 0; i < otherUserIds.length; i++) {
+                    result[i] = node.statusWith(otherUserIds[i]);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean areConnected(long userId1, long userId2) {
+        return status(userId1, userId2) == ConnectionStatus.ACCEPTED;
+    }
+
+    public boolean hasPendingRequest(long userId1, long userId2) {
+        return status(userId1, userId2) == ConnectionStatus.PENDING;
+    }
+
+    public int acceptedCount(long userId) {
+        lock.readLock().lock();
+        try {
+            Node node = nodes.get(userId);
+            return node != null && node.accepted != null ? node.accepted.size() : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Accepted connections of a user, sorted ascending. The array is shared: callers must not modify it.
+     */
+    public long[] acceptedNeighbors(long userId) {
+        lock.readLock().lock();
+        try {
+            Node node = nodes.get(userId);
+            return node != null ? node.sortedAccepted() : NO_USERS;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Every user with at least one edge of any kind
+     */
+    public long[] userIds() {
+        lock.readLock().lock();
+        try {
+            long[] ids = new long[nodes.size()];
+            int[] next = {0};
+            nodes.forEach((id, node) -> ids[next[0]++] = id);
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sorted accepted neighbors of every user, taken under one lock for bulk computations
+     */
+    public LongObjectHashMap<long[]> acceptedSnapshot() {
+        lock.readLock().lock();
+        try {
+            LongObjectHashMap<long[]> snapshot = new LongObjectHashMap<>(nodes.size());
+            nodes.forEach((id, node) -> {
+                if (node.accepted != null && !node.accepted.isEmpty()) {
+                    snapshot.put(id, node.sortedAccepted());
+                }
+            });
+            return snapshot;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void apply(LongObjectHashMap<Node> graph, long requesterId, long receiverId, ConnectionStatus status) {
+        clearPair(graph, requesterId, receiverId);
+        Node requester = graph.computeIfAbsent(requesterId, id -> new Node());
+        Node receiver = graph.computeIfAbsent(receiverId, id -> new Node());
+        switch (status) {
+            case ACCEPTED -> {
+                requester.accepted().add(receiverId);
+                receiver.accepted().add(requesterId);
+            }
+            case PENDING -> {
+                requester.pendingSent().add(receiverId);
+                receiver.pendingReceived().add(requesterId);
+            }
+            case REJECTED -> {
+                requester.rejected().add(receiverId);
+                receiver.rejected().add(requesterId);
+            }
+            case BLOCKED -> {
+                requester.blocked().add(receiverId);
+                receiver.blocked().add(requesterId);
+            }
+        }
+    }
+
+    private static void clearPair(LongObjectHashMap<Node> graph, long userId1, long userId2) {
+        Node node1 = graph.get(userId1);
+        if (node1 != null) {
+            node1.clear(userId2);
+        }
+        Node node2 = graph.get(userId2);
+        if (node2 != null) {
+            node2.clear(userId1);
+        }
+    }
+}
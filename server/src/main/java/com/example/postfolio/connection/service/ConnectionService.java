@@ -1,17 +1,29 @@
 package com.example.postfolio.connection.service;
 
+import com.example.postfolio.common.pagination.Cursor;
+import com.example.postfolio.common.pagination.CursorPage;
 import com.example.postfolio.connection.entity.Connection;
 import com.example.postfolio.connection.model.ConnectionStatus;
 import com.example.postfolio.connection.repository.ConnectionRepository;
+import com.example.postfolio.feed.service.TimelineService;
 import com.example.postfolio.user.entity.User;
 import com.example.postfolio.user.repository.UserRepository;
+import com.example.postfolio.user.service.CurrentUserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Slf4j
@@ -21,6 +33,13 @@ public class ConnectionService {
 
     private final ConnectionRepository connectionRepository;
     private final UserRepository userRepository;
+    private final CurrentUserService currentUserService;
+    private final TimelineService timelineService;
+    private final ConnectionGraph connectionGraph;
+    private final SuggestionService suggestionService;
+
+    @Value("${connection.status.max-batch:500}")
+    private int maxStatusBatch;
 
     /**
      * Send a friend request from current user to another user
@@ -56,7 +75,12 @@ public class ConnectionService {
                 .status(ConnectionStatus.PENDING)
                 .build();
 
-        return connectionRepository.save(connection);
+        Connection saved = connectionRepository.save(connection);
+        afterCommit(() -> {
+            connectionGraph.put(requester.getId(), receiverId, ConnectionStatus.PENDING);
+            suggestionService.connectionChanged(requester.getId(), receiverId, false);
+        });
+        return saved;
     }
 
     /**
@@ -78,7 +102,15 @@ public class ConnectionService {
         }
 
         connection.setStatus(ConnectionStatus.ACCEPTED);
-        return connectionRepository.save(connection);
+        Connection saved = connectionRepository.save(connection);
+        Long requesterId = connection.getRequester().getId();
+        Long receiverId = connection.getReceiver().getId();
+        timelineService.connect(requesterId, receiverId);
+        afterCommit(() -> {
+            connectionGraph.put(requesterId, receiverId, ConnectionStatus.ACCEPTED);
+            suggestionService.connectionChanged(requesterId, receiverId, true);
+        });
+        return saved;
     }
 
     /**
@@ -100,7 +132,14 @@ public class ConnectionService {
         }
 
         connection.setStatus(ConnectionStatus.REJECTED);
-        return connectionRepository.save(connection);
+        Connection saved = connectionRepository.save(connection);
+        Long requesterId = connection.getRequester().getId();
+        Long receiverId = connection.getReceiver().getId();
+        afterCommit(() -> {
+            connectionGraph.put(requesterId, receiverId, ConnectionStatus.REJECTED);
+            suggestionService.connectionChanged(requesterId, receiverId, false);
+        });
+        return saved;
     }
 
     /**
@@ -119,6 +158,16 @@ public class ConnectionService {
         }
 
         connectionRepository.delete(connection);
+        Long requesterId = connection.getRequester().getId();
+        Long receiverId = connection.getReceiver().getId();
+        if (connection.getStatus() == ConnectionStatus.ACCEPTED) {
+            timelineService.disconnect(requesterId, receiverId);
+        }
+        boolean wasAccepted = connection.getStatus() == ConnectionStatus.ACCEPTED;
+        afterCommit(() -> {
+            connectionGraph.remove(requesterId, receiverId);
+            suggestionService.connectionChanged(requesterId, receiverId, wasAccepted);
+        });
     }
 
     /**
@@ -130,6 +179,22 @@ public class ConnectionService {
         return connectionRepository.findAcceptedConnectionsByUser(currentUser);
     }
 
+    /**
+     * Get accepted connections for current user one keyset page at a time
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Connection> getMyConnectionsPage(String cursorToken, int limit) {
+        User currentUser = getCurrentUser();
+        Cursor cursor = Cursor.decode(cursorToken);
+        int pageSize = CursorPage.normalizeLimit(limit);
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+        List<Connection> rows = cursor == null
+                ? connectionRepository.findAcceptedConnectionsPageByUser(currentUser, page)
+                : connectionRepository.findAcceptedConnectionsPageByUserBefore(
+                        currentUser, cursor.createdAt(), cursor.id(), page);
+        return CursorPage.of(rows, pageSize, connection -> new Cursor(connection.getCreatedAt(), connection.getId()));
+    }
+
     /**
      * Get pending requests sent by current user
      */
@@ -151,57 +216,77 @@ public class ConnectionService {
     /**
      * Check if two users are connected
      */
-    @Transactional(readOnly = true)
     public boolean areUsersConnected(Long userId1, Long userId2) {
-        User user1 = userRepository.findById(userId1)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        User user2 = userRepository.findById(userId2)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        return connectionRepository.areUsersConnected(user1, user2);
+        return connectionGraph.areConnected(userId1, userId2);
     }
 
     /**
      * Check if there's a pending request between users
      */
-    @Transactional(readOnly = true)
     public boolean hasPendingRequest(Long userId1, Long userId2) {
-        User user1 = userRepository.findById(userId1)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        User user2 = userRepository.findById(userId2)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        return connectionRepository.hasPendingRequest(user1, user2);
+        return connectionGraph.hasPendingRequest(userId1, userId2);
     }
 
     /**
-     * Get connection status between current user and another user
+     * Get connection status between current user and another user, or null if there is none
      */
-    @Transactional(readOnly = true)
     public ConnectionStatus getConnectionStatus(Long otherUserId) {
-        User currentUser = getCurrentUser();
-        User otherUser = userRepository.findById(otherUserId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        return connectionGraph.status(getCurrentUser().getId(), otherUserId);
+    }
 
-        Optional<Connection> connection = connectionRepository.findConnectionBetweenUsers(currentUser, otherUser);
-        return connection.map(Connection::getStatus).orElse(null);
+    /**
+     * Connection status between a user and each candidate, for rendering lists; candidates with
+     * no connection are absent from the map. Served from the graph, so no query per row. Not capped:
+     * internal callers size their own lists, and the graph lookup is cheap per id.
+     */
+    public Map<Long, ConnectionStatus> getConnectionStatuses(Long userId, Collection<Long> candidateIds) {
+        long[] ids = candidateIds.stream().mapToLong(Long::longValue).toArray();
+        ConnectionStatus[] statuses = connectionGraph.statuses(userId, ids);
+        Map<Long, ConnectionStatus> result = new HashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            if (statuses[i] != null) {
+                result.put(ids[i], statuses[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Connection status between the current user and each candidate, for client requests, which are
+     * capped at connection.status.max-batch ids
+     */
+    public Map<Long, ConnectionStatus> getConnectionStatuses(Collection<Long> candidateIds) {
+        if (candidateIds.size() > maxStatusBatch) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + maxStatusBatch + " users per request");
+        }
+        return getConnectionStatuses(getCurrentUser().getId(), candidateIds);
     }
 
     /**
      * Get connection count for current user
      */
-    @Transactional(readOnly = true)
     public long getConnectionCount() {
-        User currentUser = getCurrentUser();
-        return connectionRepository.countAcceptedConnectionsByUser(currentUser);
+        return connectionGraph.acceptedCount(getCurrentUser().getId());
+    }
+
+    // The graph mirrors committed rows only, so it is updated once the transaction commits
+    private void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
     }
 
     /**
      * Get current authenticated user
      */
     private User getCurrentUser() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        return currentUserService.getCurrentUser();
     }
 } 
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.example.postfolio.connection.service;
+
+import com.example.postfolio.common.collection.SortedLongArrays;
+import com.example.postfolio.connection.dto.MutualConnectionsResponse;
+import com.example.postfolio.connection.dto.UserSummaryResponse;
+import com.example.postfolio.profile.service.ProfilePictureService;
+import com.example.postfolio.user.dto.UserCardRow;
+import com.example.postfolio.user.repository.UserRepository;
+import com.example.postfolio.user.service.CurrentUserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Mutual connections between the current user and others, by intersecting their sorted neighbor
+ * arrays from the connection graph. Only the sampled users are read from the database, in one
+ * query for a whole page of profiles.
+ */
+@Service
+@RequiredArgsConstructor
+public class MutualConnectionService {
+
+    private final ConnectionGraph connectionGraph;
+    private final UserRepository userRepository;
+    private final CurrentUserService currentUserService;
+
+    @Value("${connection.mutual.max-sample:10}")
+    private int maxSample;
+
+    @Value("${connection.mutual.max-batch:100}")
+    private int maxBatch;
+
+    /**
+     * Mutual connections with one user
+     */
+    public MutualConnectionsResponse getMutualConnections(Long otherUserId, int sampleSize) {
+        return getMutualConnections(List.of(otherUserId), sampleSize).get(0);
+    }
+
+    /**
+     * Mutual connections with each of a page of users, in the order given
+     */
+    public List<MutualConnectionsResponse> getMutualConnections(List<Long> otherUserIds, int sampleSize) {
+        if (otherUserIds.size() > maxBatch) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + maxBatch + " users per request");
+        }
+        long viewerId = currentUserService.getCurrentUser().getId();
+        int sampleLimit = Math.max(0, Math.min(sampleSize, maxSample));
+        long[] viewerNeighbors = connectionGraph.acceptedNeighbors(viewerId);
+
+        List<Long> ids = new ArrayList<>(otherUserIds.size());
+        int[] counts = new int[otherUserIds.size()];
+        List<long[]> samples = new ArrayList<>(otherUserIds.size());
+        Set<Long> sampledIds = new LinkedHashSet<>();
+        for (int i = 0; i < otherUserIds.size(); i++) {
+            long otherId = otherUserIds.get(i);
+            long[] sample = new long[sampleLimit];
+            counts[i] = SortedLongArrays.intersect(viewerNeighbors, connectionGraph.acceptedNeighbors(otherId), sample);
+            int sampled = Math.min(counts[i], sampleLimit);
+            for (int k = 0; k < sampled; k++) {
+                sampledIds.add(sample[k]);
+            }
+            ids.add(otherId);
+            samples.add(Arrays.copyOf(sample, sampled));
+        }
+
+        Map<Long, UserSummaryResponse> summaries = new HashMap<>();
+        if (!sampledIds.isEmpty()) {
+            for (UserCardRow card : userRepository.findCardRowsByIds(sampledIds)) {
+                summaries.put(card.userId(), toSummary(card));
+            }
+        }
+
+        List<MutualConnectionsResponse> responses = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            List<UserSummaryResponse> sample = new ArrayList<>();
+            for (long id : samples.get(i)) {
+                UserSummaryResponse summary = summaries.get(id);
+                if (summary != null) {
+                    sample.add(summary);
+                }
+            }
+            responses.add(MutualConnectionsResponse.builder()
+                    .userId(ids.get(i))
+                    .count(counts[i])
+                    .sample(sample)
+                    .build());
+        }
+        return responses;
+    }
+
+    private static UserSummaryResponse toSummary(UserCardRow card) {
+        return UserSummaryResponse.builder()
+                .userId(card.userId())
+                .name(card.name())
+                .profileId(card.profileId())
+                .pictureUrl(card.profileId() != null
+                        ? ProfilePictureService.pictureUrl(card.profileId(), card.pictureHash(), ProfilePictureService.LIST_AVATAR_SIZE)
+                        : null)
+                .build();
+    }
+}
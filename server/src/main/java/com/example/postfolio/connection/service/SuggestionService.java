@@ -0,0 +1,378 @@
+package com.example.postfolio.connection.service;
+
+import com.example.postfolio.common.collection.LongHashSet;
+import com.example.postfolio.common.collection.LongObjectHashMap;
+import com.example.postfolio.connection.dto.SuggestionResponse;
+import com.example.postfolio.post.dto.UserTagRow;
+import com.example.postfolio.post.repository.PostRepository;
+import com.example.postfolio.profile.service.ProfilePictureService;
+import com.example.postfolio.user.dto.UserCardRow;
+import com.example.postfolio.user.repository.UserRepository;
+import com.example.postfolio.user.service.CurrentUserService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongFunction;
+import java.util.stream.IntStream;
+
+/**
+ * People you may know. For every user, the top-K users they are not yet linked to, ranked by
+ * mutual accepted connections (two-hop walk over the connection graph) and by post tags they
+ * share. Lists are precomputed: a full parallel rebuild at startup and periodically, plus
+ * incremental recomputation of the affected users whenever a connection changes.
+ */
+@Slf4j
+@Service
+public class SuggestionService {
+
+    private static final long[] NO_USERS = new long[0];
+
+    private final ConnectionGraph connectionGraph;
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private final CurrentUserService currentUserService;
+
+    private final int size;
+    private final double mutualWeight;
+    private final double tagWeight;
+    // Tags used by more users than this say little about two people and would blow up the candidate set
+    private final int tagFanoutLimit;
+
+    // Rebuilds and incremental updates run here one at a time, so updates queued during a rebuild land after it
+    private final ExecutorService updater = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "suggestions-updater");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ForkJoinPool rebuildPool;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private LongObjectHashMap<Suggestions> suggestions = new LongObjectHashMap<>();
+    private volatile TagIndex tagIndex = TagIndex.EMPTY;
+
+    // One user's precomputed list, best first
+    private record Suggestions(long[] userIds, int[] mutual, int[] sharedTags) {
+        static final Suggestions EMPTY = new Suggestions(NO_USERS, new int[0], new int[0]);
+    }
+
+    // Tags as dense ints: sorted tag ids per user, sorted user ids per tag
+    private record TagIndex(LongObjectHashMap<int[]> tagsByUser, long[][] usersByTag) {
+        static final TagIndex EMPTY = new TagIndex(new LongObjectHashMap<>(), new long[0][]);
+    }
+
+    private record Candidate(long userId, int mutual, int sharedTags, double score) {}
+
+    // Worst candidate first, so the heap can drop it when it grows past size
+    private static final Comparator<Candidate> WORST_FIRST = Comparator
+            .comparingDouble(Candidate::score)
+            .thenComparingInt(Candidate::mutual)
+            .thenComparing(Comparator.comparingLong(Candidate::userId).reversed());
+
+    public SuggestionService(ConnectionGraph connectionGraph,
+                             PostRepository postRepository,
+                             UserRepository userRepository,
+                             CurrentUserService currentUserService,
+                             @Value("${connection.suggestions.size:20}") int size,
+                             @Value("${connection.suggestions.mutual-weight:1.0}") double mutualWeight,
+                             @Value("${connection.suggestions.tag-weight:0.5}") double tagWeight,
+                             @Value("${connection.suggestions.tag-fanout-limit:500}") int tagFanoutLimit,
+                             @Value("${connection.suggestions.rebuild-parallelism:0}") int parallelism) {
+        this.connectionGraph = connectionGraph;
+        this.postRepository = postRepository;
+        this.userRepository = userRepository;
+        this.currentUserService = currentUserService;
+        this.size = size;
+        this.mutualWeight = mutualWeight;
+        this.tagWeight = tagWeight;
+        this.tagFanoutLimit = tagFanoutLimit;
+        this.rebuildPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Suggestions for the current user with names and avatars, best first
+     */
+    public List<SuggestionResponse> getSuggestionsForCurrentUser(int limit) {
+        long userId = currentUserService.getCurrentUser().getId();
+        Suggestions list = get(userId);
+        if (list == null) {
+            // New user, or asked before the first rebuild finished
+            list = compute(userId, connectionGraph::acceptedNeighbors, tagIndex);
+            store(userId, list);
+        }
+
+        int wanted = Math.max(1, Math.min(limit, size));
+        List<Integer> picked = new ArrayList<>(wanted);
+        List<Long> ids = new ArrayList<>(wanted);
+        for (int i = 0; i < list.userIds().length && picked.size() < wanted; i++) {
+            // A request may have been sent since the list was computed
+            if (connectionGraph.status(userId, list.userIds()[i]) == null) {
+                picked.add(i);
+                ids.add(list.userIds()[i]);
+            }
+        }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, UserCardRow> cards = new HashMap<>();
+        for (UserCardRow card : userRepository.findCardRowsByIds(ids)) {
+            cards.put(card.userId(), card);
+        }
+        List<SuggestionResponse> responses = new ArrayList<>(picked.size());
+        for (int i : picked) {
+            UserCardRow card = cards.get(list.userIds()[i]);
+            if (card == null) {
+                continue; // user deleted since
+            }
+            responses.add(SuggestionResponse.builder()
+                    .userId(card.userId())
+                    .name(card.name())
+                    .profileId(card.profileId())
+                    .pictureUrl(card.profileId() != null
+                            ? ProfilePictureService.pictureUrl(card.profileId(), card.pictureHash(), ProfilePictureService.LIST_AVATAR_SIZE)
+                            : null)
+                    .mutualConnections(list.mutual()[i])
+                    .sharedTags(list.sharedTags()[i])
+                    .build());
+        }
+        return responses;
+    }
+
+    /**
+     * A connection between two users was created, changed or removed. Both users' lists change;
+     * if an accepted edge appeared or disappeared, so did the two-hop view of all their connections.
+     */
+    public void connectionChanged(long userId1, long userId2, boolean acceptedEdgeChanged) {
+        updater.execute(() -> {
+            try {
+                LongHashSet affected = new LongHashSet();
+                affected.add(userId1);
+                affected.add(userId2);
+                if (acceptedEdgeChanged) {
+                    for (long id : connectionGraph.acceptedNeighbors(userId1)) affected.add(id);
+                    for (long id : connectionGraph.acceptedNeighbors(userId2)) affected.add(id);
+                }
+                TagIndex tags = tagIndex;
+                affected.forEach(id -> store(id, compute(id, connectionGraph::acceptedNeighbors, tags)));
+            } catch (RuntimeException e) {
+                log.error("Failed to update suggestions after connection {} - {} changed", userId1, userId2, e);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        requestRebuild();
+    }
+
+    // Also picks up tag changes from new posts, which are not tracked incrementally
+    @Scheduled(fixedDelayString = "${connection.suggestions.rebuild-interval-ms:3600000}",
+               initialDelayString = "${connection.suggestions.rebuild-interval-ms:3600000}")
+    public void scheduledRebuild() {
+        requestRebuild();
+    }
+
+    public void requestRebuild() {
+        updater.execute(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.error("Suggestion rebuild failed", e);
+            }
+        });
+    }
+
+    /**
+     * Recompute every user's list from a snapshot of the graph and the tag table, in parallel
+     */
+    void rebuild() {
+        long started = System.currentTimeMillis();
+        TagIndex tags = loadTagIndex();
+        LongObjectHashMap<long[]> adjacency = connectionGraph.acceptedSnapshot();
+
+        LongHashSet userSet = new LongHashSet(adjacency.size() + tags.tagsByUser().size());
+        adjacency.forEach((id, neighbors) -> userSet.add(id));
+        tags.tagsByUser().forEach((id, userTags) -> userSet.add(id));
+        long[] users = userSet.toArray();
+
+        // The snapshot maps are only read from here on, so sharing them across workers is safe
+        LongFunction<long[]> neighborsOf = id -> {
+            long[] neighbors = adjacency.get(id);
+            return neighbors != null ? neighbors : NO_USERS;
+        };
+        Suggestions[] results = new Suggestions[users.length];
+        rebuildPool.submit(() -> IntStream.range(0, users.length).parallel()
+                .forEach(i -> results[i] = compute(users[i], neighborsOf, tags))).join();
+
+        LongObjectHashMap<Suggestions> rebuilt = new LongObjectHashMap<>(users.length);
+        for (int i = 0; i < users.length; i++) {
+            rebuilt.put(users[i], results[i]);
+        }
+        lock.writeLock().lock();
+        try {
+            suggestions = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        tagIndex = tags;
+        log.info("Rebuilt suggestions for {} users in {} ms", users.length, System.currentTimeMillis() - started);
+    }
+
+    private Suggestions compute(long userId, LongFunction<long[]> neighborsOf, TagIndex tags) {
+        long[] neighbors = neighborsOf.apply(userId);
+
+        // Friends of friends; each occurrence is one mutual connection
+        int total = 0;
+        for (long neighbor : neighbors) {
+            total += neighborsOf.apply(neighbor).length;
+        }
+        long[] hops = new long[total];
+        int hopCount = 0;
+        for (long neighbor : neighbors) {
+            for (long candidate : neighborsOf.apply(neighbor)) {
+                if (candidate != userId) {
+                    hops[hopCount++] = candidate;
+                }
+            }
+        }
+        Arrays.sort(hops, 0, hopCount);
+
+        // Users sharing a tag; each occurrence is one shared tag
+        long[] tagHits = NO_USERS;
+        int tagHitCount = 0;
+        int[] userTags = tags.tagsByUser().get(userId);
+        if (userTags != null) {
+            int tagTotal = 0;
+            for (int tag : userTags) {
+                int holders = tags.usersByTag()[tag].length;
+                if (holders <= tagFanoutLimit) {
+                    tagTotal += holders;
+                }
+            }
+            tagHits = new long[tagTotal];
+            for (int tag : userTags) {
+                long[] holders = tags.usersByTag()[tag];
+                if (holders.length <= tagFanoutLimit) {
+                    for (long holder : holders) {
+                        if (holder != userId) {
+                            tagHits[tagHitCount++] = holder;
+                        }
+                    }
+                }
+            }
+            Arrays.sort(tagHits, 0, tagHitCount);
+        }
+
+        // Merge both sorted runs, counting per candidate, and keep the best in a bounded heap
+        PriorityQueue<Candidate> best = new PriorityQueue<>(size + 1, WORST_FIRST);
+        int i = 0;
+        int j = 0;
+        while (i < hopCount || j < tagHitCount) {
+            long candidate = j >= tagHitCount || (i < hopCount && hops[i] <= tagHits[j]) ? hops[i] : tagHits[j];
+            int mutual = 0;
+            while (i < hopCount && hops[i] == candidate) {
+                mutual++;
+                i++;
+            }
+            int shared = 0;
+            while (j < tagHitCount && tagHits[j] == candidate) {
+                shared++;
+                j++;
+            }
+            if (Arrays.binarySearch(neighbors, candidate) >= 0 || connectionGraph.status(userId, candidate) != null) {
+                continue; // already connected, pending, rejected or blocked
+            }
+            best.offer(new Candidate(candidate, mutual, shared, mutual * mutualWeight + shared * tagWeight));
+            if (best.size() > size) {
+                best.poll();
+            }
+        }
+
+        int count = best.size();
+        if (count == 0) {
+            return Suggestions.EMPTY;
+        }
+        long[] ids = new long[count];
+        int[] mutualCounts = new int[count];
+        int[] sharedCounts = new int[count];
+        for (int k = count - 1; k >= 0; k--) {
+            Candidate candidate = best.poll();
+            ids[k] = candidate.userId();
+            mutualCounts[k] = candidate.mutual();
+            sharedCounts[k] = candidate.sharedTags();
+        }
+        return new Suggestions(ids, mutualCounts, sharedCounts);
+    }
+
+    private TagIndex loadTagIndex() {
+        Map<String, Integer> tagIds = new HashMap<>();
+        LongObjectHashMap<LongHashSet> holders = new LongObjectHashMap<>();
+        List<LongHashSet> usersByTag = new ArrayList<>();
+        for (UserTagRow row : postRepository.findAllUserTags()) {
+            if (row.userId() == null || row.tag() == null) {
+                continue;
+            }
+            int tagId = tagIds.computeIfAbsent(row.tag().toLowerCase(), tag -> {
+                usersByTag.add(new LongHashSet());
+                return usersByTag.size() - 1;
+            });
+            usersByTag.get(tagId).add(row.userId());
+            holders.computeIfAbsent(row.userId(), id -> new LongHashSet()).add(tagId + 1L); // ids must be positive
+        }
+
+        LongObjectHashMap<int[]> tagsByUser = new LongObjectHashMap<>(holders.size());
+        holders.forEach((userId, userTags) -> {
+            long[] shifted = userTags.toSortedArray();
+            int[] tagList = new int[shifted.length];
+            for (int k = 0; k < shifted.length; k++) {
+                tagList[k] = (int) (shifted[k] - 1);
+            }
+            tagsByUser.put(userId, tagList);
+        });
+        long[][] userLists = new long[usersByTag.size()][];
+        for (int k = 0; k < userLists.length; k++) {
+            userLists[k] = usersByTag.get(k).toSortedArray();
+        }
+        return new TagIndex(tagsByUser, userLists);
+    }
+
+    private Suggestions get(long userId) {
+        lock.readLock().lock();
+        try {
+            return suggestions.get(userId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void store(long userId, Suggestions list) {
+        lock.writeLock().lock();
+        try {
+            suggestions.put(userId, list);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        updater.shutdownNow();
+        rebuildPool.shutdownNow();
+    }
+}
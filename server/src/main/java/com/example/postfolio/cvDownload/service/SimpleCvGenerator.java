@@ -1,10 +1,12 @@
 package com.example.postfolio.cvDownload.service;
 
 import com.example.postfolio.profile.entity.Profile;
+import com.example.postfolio.profile.service.ProfilePictureService;
 import com.example.postfolio.post.entity.Post;
 import com.example.postfolio.post.models.PostType;
 import com.itextpdf.text.*;
 import com.itextpdf.text.pdf.PdfWriter;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
@@ -13,8 +15,11 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@RequiredArgsConstructor
 public class SimpleCvGenerator {
 
+    private final ProfilePictureService profilePictureService;
+
     public byte[] generateCv(Profile profile, List<Post> posts) throws DocumentException {
         Document document = new Document();
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
@@ -58,9 +63,10 @@ public class SimpleCvGenerator {
         document.add(section);
 
         // Add profile picture if exists
-        if (profile.getPictureBase64() != null) {
+        if (profile.getPictureHash() != null) {
             try {
-                Image img = Image.getInstance(Base64.getDecoder().decode(profile.getPictureBase64()));
+                Image img = Image.getInstance(profilePictureService.readPicture(
+                        profile.getPictureHash(), profile.getPictureContentType(), ProfilePictureService.CV_PICTURE_SIZE));
                 img.scaleToFit(100, 100);
                 document.add(img);
             } catch (Exception e) {
@@ -0,0 +1,37 @@
+package com.example.postfolio.feed.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "timeline_entries", indexes = {
+        @Index(name = "idx_timeline_owner_created", columnList = "owner_id, created_at, post_id"),
+        @Index(name = "idx_timeline_owner_author", columnList = "owner_id, author_id"),
+        @Index(name = "idx_timeline_post", columnList = "post_id")
+})
+@IdClass(TimelineEntryId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimelineEntry {
+
+    // User whose feed this entry belongs to
+    @Id
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+
+    // User who wrote the post (used to evict entries when a connection is removed)
+    @Column(name = "author_id", nullable = false)
+    private Long authorId;
+
+    // Copy of the post's createdAt so the feed can be ordered without touching the posts table
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,15 @@
+package com.example.postfolio.feed.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimelineEntryId implements Serializable {
+    private Long ownerId;
+    private Long postId;
+}
@@ -0,0 +1,27 @@
+package com.example.postfolio.feed.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marks a user whose timeline has been seeded from the posts that predate fan-out.
+ * Whether a timeline has entries says nothing about that, since fan-out and backfill write into
+ * timelines that were never seeded.
+ */
+@Entity
+@Table(name = "timeline_seeds")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimelineSeed {
+
+    @Id
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    @Column(name = "seeded_at", nullable = false)
+    private LocalDateTime seededAt;
+}
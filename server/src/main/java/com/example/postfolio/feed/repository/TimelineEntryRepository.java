@@ -0,0 +1,91 @@
+package com.example.postfolio.feed.repository;
+
+import com.example.postfolio.feed.entity.TimelineEntry;
+import com.example.postfolio.feed.entity.TimelineEntryId;
+import com.example.postfolio.post.entity.Post;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TimelineEntryRepository extends JpaRepository<TimelineEntry, TimelineEntryId> {
+
+    // Newest posts in a user's timeline; the page size bounds the work done
+    @Query("SELECT p FROM TimelineEntry t JOIN Post p ON p.id = t.postId " +
+           "WHERE t.ownerId = :ownerId ORDER BY t.createdAt DESC, t.postId DESC")
+    List<Post> findTimelinePosts(@Param("ownerId") Long ownerId, Pageable pageable);
+
+    // Keyset continuation of findTimelinePosts
+    @Query("SELECT p FROM TimelineEntry t JOIN Post p ON p.id = t.postId " +
+           "WHERE t.ownerId = :ownerId " +
+           "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.postId < :postId)) " +
+           "ORDER BY t.createdAt DESC, t.postId DESC")
+    List<Post> findTimelinePostsBefore(@Param("ownerId") Long ownerId,
+                                       @Param("createdAt") LocalDateTime createdAt,
+                                       @Param("postId") Long postId,
+                                       Pageable pageable);
+
+    // Push a new post into the author's own timeline and into every accepted connection's timeline
+    @Modifying
+    @Query(value = "INSERT INTO timeline_entries (owner_id, post_id, author_id, created_at) " +
+           "SELECT :authorId, :postId, :authorId, :createdAt " +
+           "UNION ALL " +
+           "SELECT CASE WHEN c.requester_id = :authorId THEN c.receiver_id ELSE c.requester_id END, " +
+           ":postId, :authorId, :createdAt " +
+           "FROM connections c " +
+           "WHERE (c.requester_id = :authorId OR c.receiver_id = :authorId) AND c.status = 'ACCEPTED' " +
+           "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int fanOut(@Param("postId") Long postId,
+               @Param("authorId") Long authorId,
+               @Param("createdAt") LocalDateTime createdAt);
+
+    // Copy an author's most recent posts into another user's timeline (new connection)
+    @Modifying
+    @Query(value = "INSERT INTO timeline_entries (owner_id, post_id, author_id, created_at) " +
+           "SELECT :ownerId, p.id, :authorId, p.created_at " +
+           "FROM posts p JOIN profiles pr ON pr.id = p.profile_id " +
+           "WHERE pr.user_id = :authorId " +
+           "ORDER BY p.created_at DESC LIMIT :limit " +
+           "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int backfill(@Param("ownerId") Long ownerId,
+                 @Param("authorId") Long authorId,
+                 @Param("limit") int limit);
+
+    // Build a timeline from scratch for users whose feed predates timelines
+    @Modifying
+    @Query(value = "INSERT INTO timeline_entries (owner_id, post_id, author_id, created_at) " +
+           "SELECT :ownerId, p.id, pr.user_id, p.created_at " +
+           "FROM posts p JOIN profiles pr ON pr.id = p.profile_id " +
+           "WHERE pr.user_id = :ownerId OR pr.user_id IN (" +
+           "  SELECT CASE WHEN c.requester_id = :ownerId THEN c.receiver_id ELSE c.requester_id END " +
+           "  FROM connections c " +
+           "  WHERE (c.requester_id = :ownerId OR c.receiver_id = :ownerId) AND c.status = 'ACCEPTED') " +
+           "ORDER BY p.created_at DESC LIMIT :limit " +
+           "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int seed(@Param("ownerId") Long ownerId, @Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM TimelineEntry t WHERE t.ownerId = :ownerId AND t.authorId = :authorId")
+    int deleteByOwnerIdAndAuthorId(@Param("ownerId") Long ownerId, @Param("authorId") Long authorId);
+
+    @Modifying
+    @Query("DELETE FROM TimelineEntry t WHERE t.postId = :postId")
+    int deleteByPostId(@Param("postId") Long postId);
+
+    // Drop everything beyond the newest :capacity entries of each timeline
+    @Modifying
+    @Query(value = "DELETE FROM timeline_entries t USING (" +
+           "  SELECT owner_id, post_id FROM (" +
+           "    SELECT owner_id, post_id, " +
+           "           ROW_NUMBER() OVER (PARTITION BY owner_id ORDER BY created_at DESC, post_id DESC) AS rn " +
+           "    FROM timeline_entries) ranked " +
+           "  WHERE ranked.rn > :capacity) overflow " +
+           "WHERE t.owner_id = overflow.owner_id AND t.post_id = overflow.post_id", nativeQuery = true)
+    int trimToCapacity(@Param("capacity") int capacity);
+}
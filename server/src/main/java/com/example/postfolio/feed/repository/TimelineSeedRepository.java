@@ -0,0 +1,20 @@
+package com.example.postfolio.feed.repository;
+
+import com.example.postfolio.feed.entity.TimelineSeed;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface TimelineSeedRepository extends JpaRepository<TimelineSeed, Long> {
+
+    // 1 if this call claimed the seeding, 0 if the timeline was already seeded
+    @Modifying
+    @Query(value = "INSERT INTO timeline_seeds (owner_id, seeded_at) VALUES (:ownerId, :seededAt) " +
+           "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int markSeeded(@Param("ownerId") Long ownerId, @Param("seededAt") LocalDateTime seededAt);
+}
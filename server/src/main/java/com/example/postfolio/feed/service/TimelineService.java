@@ -0,0 +1,121 @@
+package com.example.postfolio.feed.service;
+
+import com.example.postfolio.common.pagination.Cursor;
+import com.example.postfolio.common.pagination.CursorPage;
+import com.example.postfolio.feed.repository.TimelineEntryRepository;
+import com.example.postfolio.feed.repository.TimelineSeedRepository;
+import com.example.postfolio.post.entity.Post;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Materialized per-user feeds (fan-out on write).
+ * A post id is pushed into the author's and every friend's timeline when it is created,
+ * so reading a feed is a single indexed range scan instead of a join over the connection graph.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TimelineService {
+
+    private final TimelineEntryRepository timelineEntryRepository;
+    private final TimelineSeedRepository timelineSeedRepository;
+
+    // Maximum number of entries kept per timeline
+    @Value("${feed.timeline.capacity:500}")
+    private int capacity;
+
+    // Number of a new friend's posts copied into a timeline when a connection is accepted
+    @Value("${feed.timeline.backfill-size:50}")
+    private int backfillSize;
+
+    /**
+     * Push a newly created post into the author's and their connections' timelines
+     */
+    @Transactional
+    public void publish(Post post, Long authorId) {
+        int pushed = timelineEntryRepository.fanOut(post.getId(), authorId, post.getCreatedAt());
+        log.debug("Fanned out post {} to {} timelines", post.getId(), pushed);
+    }
+
+    /**
+     * Remove a deleted post from every timeline it was pushed to
+     */
+    @Transactional
+    public void retract(Long postId) {
+        timelineEntryRepository.deleteByPostId(postId);
+    }
+
+    /**
+     * Two users became connected: each sees the other's recent posts
+     */
+    @Transactional
+    public void connect(Long userId1, Long userId2) {
+        timelineEntryRepository.backfill(userId1, userId2, backfillSize);
+        timelineEntryRepository.backfill(userId2, userId1, backfillSize);
+    }
+
+    /**
+     * Two users are no longer connected: drop each other's posts from their timelines
+     */
+    @Transactional
+    public void disconnect(Long userId1, Long userId2) {
+        timelineEntryRepository.deleteByOwnerIdAndAuthorId(userId1, userId2);
+        timelineEntryRepository.deleteByOwnerIdAndAuthorId(userId2, userId1);
+    }
+
+    /**
+     * Newest posts of a user's timeline, seeding it first if that has not happened yet
+     */
+    @Transactional
+    public List<Post> getTimeline(Long ownerId, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, capacity));
+        seedIfNeeded(ownerId);
+        return timelineEntryRepository.findTimelinePosts(ownerId, PageRequest.of(0, pageSize));
+    }
+
+    /**
+     * Keyset-paginated timeline; the cursor is the (createdAt, id) of the last post already seen
+     */
+    @Transactional
+    public CursorPage<Post> getTimelinePage(Long ownerId, Cursor cursor, int limit) {
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<Post> rows;
+        if (cursor == null) {
+            seedIfNeeded(ownerId);
+            rows = timelineEntryRepository.findTimelinePosts(ownerId, page);
+        } else {
+            rows = timelineEntryRepository.findTimelinePostsBefore(ownerId, cursor.createdAt(), cursor.id(), page);
+        }
+        return CursorPage.of(rows, limit, post -> new Cursor(post.getCreatedAt(), post.getId()));
+    }
+
+    // Entries fanned out before seeding are kept; the seed skips posts already present
+    private void seedIfNeeded(Long ownerId) {
+        if (!timelineSeedRepository.existsById(ownerId)
+                && timelineSeedRepository.markSeeded(ownerId, LocalDateTime.now()) > 0) {
+            int seeded = timelineEntryRepository.seed(ownerId, capacity);
+            log.debug("Seeded timeline of user {} with {} posts", ownerId, seeded);
+        }
+    }
+
+    /**
+     * Keep timelines bounded; fan-out only ever appends
+     */
+    @Scheduled(fixedDelayString = "${feed.timeline.trim-interval-ms:600000}")
+    @Transactional
+    public void trimTimelines() {
+        int removed = timelineEntryRepository.trimToCapacity(capacity);
+        if (removed > 0) {
+            log.info("Trimmed {} timeline entries beyond capacity {}", removed, capacity);
+        }
+    }
+}
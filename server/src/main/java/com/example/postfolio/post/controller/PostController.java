@@ -1,8 +1,10 @@
 package com.example.postfolio.post.controller;
 
+import com.example.postfolio.common.pagination.CursorPage;
 import com.example.postfolio.post.dto.*;
 import com.example.postfolio.post.entity.Post;
 import com.example.postfolio.post.models.PostType;
+import com.example.postfolio.post.service.PostDtoAssembler;
 import com.example.postfolio.post.service.PostService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -16,7 +18,6 @@ import java.util.List;
 import java.util.stream.Collectors;
 import com.example.postfolio.post.entity.Reaction;
 import com.example.postfolio.post.model.ReactionType;
-import com.example.postfolio.post.repository.ReactionRepository;
 import com.example.postfolio.post.dto.ReactionResponseDTO;
 
 @RestController
@@ -24,7 +25,7 @@ import com.example.postfolio.post.dto.ReactionResponseDTO;
 @RequiredArgsConstructor
 public class PostController {
     private final PostService postService;
-    private final ReactionRepository reactionRepository;
+    private final PostDtoAssembler postDtoAssembler;
 
     @PostMapping
     public ResponseEntity<PostResponseDTO> createPost(
@@ -68,6 +69,16 @@ public class PostController {
     }
 
 
+    // Keyset mode: selected by the cursor parameter (empty for the first page)
+    @GetMapping(value = "/profile/{profileId}", params = "cursor")
+    public ResponseEntity<CursorPage<PostResponseDTO>> getProfilePostsPage(
+            @PathVariable Long profileId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
+        CursorPage<Post> page = postService.getProfilePostsPage(profileId, cursor, limit);
+        return ResponseEntity.ok(page.mapItems(this::convertToDtoList));
+    }
+
     @GetMapping("/profile/{profileId}/type/{type}")
     public ResponseEntity<List<PostResponseDTO>> getPostsByType(
             @PathVariable Long profileId,
@@ -93,11 +104,21 @@ public class PostController {
     }
 
     @GetMapping("/feed")
-    public ResponseEntity<List<PostResponseDTO>> getFeedPosts() {
-        List<Post> posts = postService.getFeedPosts();
+    public ResponseEntity<List<PostResponseDTO>> getFeedPosts(
+            @RequestParam(defaultValue = "50") int limit) {
+        List<Post> posts = postService.getFeedPosts(limit);
         return ResponseEntity.ok(convertToDtoList(posts));
     }
 
+    // Keyset mode: selected by the cursor parameter (empty for the first page)
+    @GetMapping(value = "/feed", params = "cursor")
+    public ResponseEntity<CursorPage<PostResponseDTO>> getFeedPage(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
+        CursorPage<Post> page = postService.getFeedPage(cursor, limit);
+        return ResponseEntity.ok(page.mapItems(this::convertToDtoList));
+    }
+
     @PutMapping("/{postId}")
     public ResponseEntity<PostResponseDTO> updatePost(
             @PathVariable Long postId,
@@ -142,6 +163,16 @@ public class PostController {
         return ResponseEntity.ok(postService.convertReactionsToDto(reactions));
     }
 
+    // Keyset mode: selected by the cursor parameter (empty for the first page)
+    @GetMapping(value = "/{postId}/reactions", params = "cursor")
+    public ResponseEntity<CursorPage<ReactionResponseDTO>> getPostReactionsPage(
+            @PathVariable Long postId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
+        CursorPage<Reaction> page = postService.getPostReactionsPage(postId, cursor, limit);
+        return ResponseEntity.ok(page.mapItems(postService::convertReactionsToDto));
+    }
+
     @DeleteMapping("/{postId}")
     public ResponseEntity<ResponseEntity<Void>> deletePost(
             @PathVariable Long postId,
@@ -157,28 +188,11 @@ public class PostController {
     }
 
     private PostResponseDTO convertToDto(Post post) {
-        List<Reaction> reactions = reactionRepository.findByPostWithUser(post);
-        List<ReactionResponseDTO> reactionDtos = postService.convertReactionsToDto(reactions);
-        
-        return PostResponseDTO.builder()
-                .id(post.getId())
-                .content(post.getContent())
-                .type(post.getType())
-                .tags(post.getTags())
-                .cvHeading(post.getCvHeading())
-                .autoTagged(post.getAutoTagged())
-                .profileId(post.getProfile().getId())
-                .profileName(post.getProfile().getUser().getName())
-                .profilePictureBase64(post.getProfile().getPictureBase64())
-                .createdAt(post.getCreatedAt())
-                .reactions(reactionDtos)
-                .build();
+        return postDtoAssembler.toDto(post);
     }
 
     private List<PostResponseDTO> convertToDtoList(List<Post> posts) {
-        return posts.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return postDtoAssembler.toDtos(posts);
     }
 
     private Page<PostResponseDTO> convertToDtoPage(Page<Post> postPage) {
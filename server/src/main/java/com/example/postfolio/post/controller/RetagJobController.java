@@ -0,0 +1,38 @@
+package com.example.postfolio.post.controller;
+
+import com.example.postfolio.post.entity.RetagJob;
+import com.example.postfolio.post.service.RetagJobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/retag-jobs")
+@RequiredArgsConstructor
+public class RetagJobController {
+
+    private final RetagJobService retagJobService;
+
+    @PostMapping
+    public ResponseEntity<RetagJob> startJob(Authentication authentication) {
+        RetagJob job = retagJobService.startJob(authentication.getName());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @GetMapping("/latest")
+    public ResponseEntity<RetagJob> getLatestJob() {
+        return ResponseEntity.ok(retagJobService.getLatestJob());
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<RetagJob> getJob(@PathVariable Long jobId) {
+        return ResponseEntity.ok(retagJobService.getJob(jobId));
+    }
+
+    @PostMapping("/{jobId}/cancel")
+    public ResponseEntity<RetagJob> cancelJob(@PathVariable Long jobId) {
+        return ResponseEntity.ok(retagJobService.cancelJob(jobId));
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.postfolio.post.dto;
+
+// Author columns needed to render a post, loaded in bulk for a page of posts
+public record PostAuthorRow(Long profileId, String name, String pictureHash) {}
@@ -0,0 +1,8 @@
+package com.example.postfolio.post.dto;
+
+import com.example.postfolio.post.model.ReactionType;
+
+import java.time.LocalDateTime;
+
+// Reaction columns needed to render a post, loaded in bulk for a page of posts
+public record PostReactionRow(Long postId, Long id, ReactionType type, String userName, LocalDateTime createdAt) {}
@@ -0,0 +1,6 @@
+package com.example.postfolio.post.dto;
+
+import com.example.postfolio.post.models.PostType;
+
+// What the post search index keeps of a post, besides its tags
+public record PostSearchRow(Long id, String content, String cvHeading, PostType type, Long profileId) {}
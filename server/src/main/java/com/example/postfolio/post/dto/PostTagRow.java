@@ -0,0 +1,3 @@
+package com.example.postfolio.post.dto;
+
+public record PostTagRow(Long postId, String tag) {}
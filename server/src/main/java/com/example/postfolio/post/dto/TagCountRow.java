@@ -0,0 +1,4 @@
+package com.example.postfolio.post.dto;
+
+// How many posts carry a tag, as spelled in post_tags
+public record TagCountRow(String tag, Long count) {}
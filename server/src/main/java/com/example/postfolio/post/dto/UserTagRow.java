@@ -0,0 +1,4 @@
+package com.example.postfolio.post.dto;
+
+// A tag used on at least one of a user's posts
+public record UserTagRow(Long userId, String tag) {}
@@ -10,7 +10,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+        @Index(name = "idx_posts_profile_created", columnList = "profile_id, createdAt, id"),
+        @Index(name = "idx_posts_auto_tagged_id", columnList = "autoTagged, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -8,7 +8,9 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reactions")
+@Table(name = "reactions", indexes = {
+        @Index(name = "idx_reactions_post_created", columnList = "post_id, createdAt, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
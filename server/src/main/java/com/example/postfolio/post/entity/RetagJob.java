@@ -0,0 +1,63 @@
+package com.example.postfolio.post.entity;
+
+import com.example.postfolio.post.models.RetagJobStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a bulk re-tagging run over the posts needing review.
+ * lastPostId is the keyset checkpoint: every post up to it has been processed and committed,
+ * so a job interrupted by a crash resumes right after it.
+ */
+@Entity
+@Table(name = "retag_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RetagJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RetagJobStatus status;
+
+    @Column(nullable = false)
+    private Long lastPostId;
+
+    // Backlog size when the job started, for progress reporting
+    private long totalPosts;
+
+    private long processedPosts;
+
+    private long retaggedPosts;
+
+    private long failedPosts;
+
+    private String startedBy;
+
+    private String error;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime finishedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
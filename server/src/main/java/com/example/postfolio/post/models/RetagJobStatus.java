@@ -0,0 +1,8 @@
+package com.example.postfolio.post.models;
+
+public enum RetagJobStatus {
+    RUNNING,
+    COMPLETED,
+    CANCELLED,
+    FAILED
+}
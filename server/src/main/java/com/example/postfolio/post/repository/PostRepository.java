@@ -1,5 +1,9 @@
 package com.example.postfolio.post.repository;
 
+import com.example.postfolio.post.dto.PostSearchRow;
+import com.example.postfolio.post.dto.PostTagRow;
+import com.example.postfolio.post.dto.TagCountRow;
+import com.example.postfolio.post.dto.UserTagRow;
 import com.example.postfolio.post.entity.Post;
 import com.example.postfolio.post.models.PostType;
 import com.example.postfolio.profile.entity.Profile;
@@ -10,6 +14,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -36,6 +42,12 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     // Find posts needing human review (autoTagged = false)
     Page<Post> findByProfileAndAutoTaggedFalse(Profile profile, Pageable pageable);
 
+    // Keyset walk over the whole review backlog, in id order (bulk retag job)
+    @Query("SELECT p.id FROM Post p WHERE p.autoTagged = false AND p.id > :afterId ORDER BY p.id")
+    List<Long> findIdsNeedingReviewAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    long countByAutoTaggedFalse();
+
     // NEW: Get all unique skills/tags for a profile
     @Query("SELECT DISTINCT t FROM Post p JOIN p.tags t WHERE p.profile.id = :profileId")
     List<String> findDistinctTagsByProfileId(Long profileId);
@@ -48,12 +60,32 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     @Query("SELECT COUNT(p) FROM Post p WHERE p.profile = :profile AND :tag MEMBER OF p.tags")
     long countByProfileAndTag(Profile profile, String tag);
 
-    // NEW: Get posts from friends and current user for feed - Fixed query
-    @Query("SELECT p FROM Post p WHERE p.profile.user IN " +
-           "(SELECT DISTINCT c.receiver FROM Connection c WHERE c.requester = :currentUser AND c.status = 'ACCEPTED') " +
-           "OR p.profile.user IN " +
-           "(SELECT DISTINCT c.requester FROM Connection c WHERE c.receiver = :currentUser AND c.status = 'ACCEPTED') " +
-           "OR p.profile.user = :currentUser " +
-           "ORDER BY p.createdAt DESC")
-    List<Post> findPostsFromFriendsAndSelf(@Param("currentUser") com.example.postfolio.user.entity.User currentUser);
+    // Keyset batch for loading the post search index
+    @Query("SELECT new com.example.postfolio.post.dto.PostSearchRow(p.id, p.content, p.cvHeading, p.type, p.profile.id) " +
+           "FROM Post p WHERE p.id > :afterId ORDER BY p.id")
+    List<PostSearchRow> findSearchRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Tags of a whole page of posts in one query
+    @Query("SELECT new com.example.postfolio.post.dto.PostTagRow(p.id, t) FROM Post p JOIN p.tags t WHERE p.id IN :postIds")
+    List<PostTagRow> findTagRowsByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    // Every (author, tag) pair, for tag-overlap scoring between users
+    @Query("SELECT DISTINCT new com.example.postfolio.post.dto.UserTagRow(p.profile.user.id, t) FROM Post p JOIN p.tags t")
+    List<UserTagRow> findAllUserTags();
+
+    // Global tag frequencies, for tag autocomplete
+    @Query("SELECT new com.example.postfolio.post.dto.TagCountRow(t, COUNT(p)) FROM Post p JOIN p.tags t GROUP BY t")
+    List<TagCountRow> countPostsByTag();
+
+    // Keyset pagination of a profile's posts, newest first
+    @Query("SELECT p FROM Post p WHERE p.profile = :profile ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findPageByProfile(@Param("profile") Profile profile, Pageable pageable);
+
+    @Query("SELECT p FROM Post p WHERE p.profile = :profile " +
+           "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findPageByProfileBefore(@Param("profile") Profile profile,
+                                       @Param("createdAt") LocalDateTime createdAt,
+                                       @Param("id") Long id,
+                                       Pageable pageable);
 }
\ No newline at end of file
@@ -1,13 +1,17 @@
 package com.example.postfolio.post.repository;
 
+import com.example.postfolio.post.dto.PostReactionRow;
 import com.example.postfolio.post.entity.Reaction;
 import com.example.postfolio.post.entity.Post;
 import com.example.postfolio.user.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,4 +25,21 @@ public interface ReactionRepository extends JpaRepository<Reaction, Long> {
     List<Reaction> findByPostWithUser(@Param("post") Post post);
     
     boolean existsByPostAndUser(Post post, User user);
+
+    // Reactions of a whole page of posts in one query, without materializing User entities
+    @Query("SELECT new com.example.postfolio.post.dto.PostReactionRow(r.post.id, r.id, r.type, u.name, r.createdAt) " +
+           "FROM Reaction r JOIN r.user u WHERE r.post.id IN :postIds ORDER BY r.createdAt, r.id")
+    List<PostReactionRow> findRowsByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    // Keyset pagination of a post's reactions, newest first
+    @Query("SELECT r FROM Reaction r JOIN FETCH r.user WHERE r.post = :post ORDER BY r.createdAt DESC, r.id DESC")
+    List<Reaction> findPageByPostWithUser(@Param("post") Post post, Pageable pageable);
+
+    @Query("SELECT r FROM Reaction r JOIN FETCH r.user WHERE r.post = :post " +
+           "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<Reaction> findPageByPostWithUserBefore(@Param("post") Post post,
+                                                @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") Long id,
+                                                Pageable pageable);
 } 
\ No newline at end of file
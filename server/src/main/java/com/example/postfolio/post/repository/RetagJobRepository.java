@@ -0,0 +1,19 @@
+package com.example.postfolio.post.repository;
+
+import com.example.postfolio.post.entity.RetagJob;
+import com.example.postfolio.post.models.RetagJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RetagJobRepository extends JpaRepository<RetagJob, Long> {
+
+    List<RetagJob> findByStatus(RetagJobStatus status);
+
+    boolean existsByStatus(RetagJobStatus status);
+
+    Optional<RetagJob> findTopByOrderByIdDesc();
+}
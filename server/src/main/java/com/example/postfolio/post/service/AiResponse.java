@@ -12,4 +12,6 @@ public class AiResponse {
     private String summary;
     private PostType postType;
     private List<String> tags;
+    // 0..1, how far the analysis can be trusted without asking Gemini
+    private double confidence;
 }
\ No newline at end of file
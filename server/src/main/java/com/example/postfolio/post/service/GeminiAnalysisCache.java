@@ -0,0 +1,194 @@
+package com.example.postfolio.post.service;
+
+import com.example.postfolio.post.models.PostType;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LRU + TTL cache of Gemini analyses keyed by a hash of the normalized post content and the prompt version.
+ * Snapshotted to a local JSON file so the hit rate survives restarts.
+ */
+@Slf4j
+@Component
+public class GeminiAnalysisCache {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Path storePath;
+    private final Gson gson = new Gson();
+
+    // Access-ordered so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, CachedAnalysis> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private volatile boolean dirty;
+
+    public GeminiAnalysisCache(@Value("${ai.cache.max-entries:10000}") int maxEntries,
+                               @Value("${ai.cache.ttl-hours:720}") long ttlHours,
+                               @Value("${ai.cache.path:data/gemini-analysis-cache.json}") String storePath,
+                               MeterRegistry meterRegistry) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = Duration.ofHours(ttlHours).toMillis();
+        this.storePath = Path.of(storePath);
+
+        FunctionCounter.builder("gemini.cache.requests", hits, AtomicLong::get)
+                .tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("gemini.cache.requests", misses, AtomicLong::get)
+                .tag("result", "miss").register(meterRegistry);
+        FunctionCounter.builder("gemini.cache.evictions", evictions, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("gemini.cache.size", this, GeminiAnalysisCache::size).register(meterRegistry);
+    }
+
+    /**
+     * Cache key: SHA-256 over the prompt version and the content with Unicode and whitespace normalized,
+     * so re-posts and edits that only touch spacing hit the same entry.
+     */
+    public static String keyFor(String content, String promptVersion) {
+        String normalized = Normalizer.normalize(content, Normalizer.Form.NFC)
+                .strip()
+                .replaceAll("\\s+", " ");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(promptVersion.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            return HexFormat.of().formatHex(digest.digest(normalized.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public synchronized Optional<GeminiService.GeminiResponse> get(String key) {
+        CachedAnalysis cached = entries.get(key);
+        if (cached != null && isExpired(cached, System.currentTimeMillis())) {
+            entries.remove(key);
+            evictions.incrementAndGet();
+            dirty = true;
+            cached = null;
+        }
+        if (cached == null) {
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+        hits.incrementAndGet();
+        return Optional.of(cached.toResponse());
+    }
+
+    public synchronized void put(String key, GeminiService.GeminiResponse response) {
+        entries.put(key, CachedAnalysis.from(response, System.currentTimeMillis()));
+        dirty = true;
+        Iterator<CachedAnalysis> eldest = entries.values().iterator();
+        while (entries.size() > maxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @PostConstruct
+    void load() {
+        if (!Files.exists(storePath)) {
+            return;
+        }
+        try (Reader reader = Files.newBufferedReader(storePath, StandardCharsets.UTF_8)) {
+            Map<String, CachedAnalysis> stored = gson.fromJson(reader,
+                    new TypeToken<LinkedHashMap<String, CachedAnalysis>>() { }.getType());
+            if (stored == null) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            synchronized (this) {
+                stored.forEach((key, cached) -> {
+                    if (!isExpired(cached, now) && entries.size() < maxEntries) {
+                        entries.put(key, cached);
+                    }
+                });
+            }
+            log.info("Loaded {} cached Gemini analyses from {}", size(), storePath);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable Gemini cache store {}: {}", storePath, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${ai.cache.flush-interval-ms:60000}")
+    public void flush() {
+        if (!dirty) {
+            return;
+        }
+        Map<String, CachedAnalysis> snapshot;
+        synchronized (this) {
+            snapshot = new LinkedHashMap<>(entries);
+            dirty = false;
+        }
+        try {
+            Path parent = storePath.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tmp = Files.createTempFile(parent, "gemini-cache", ".tmp");
+            try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                gson.toJson(snapshot, writer);
+            }
+            Files.move(tmp, storePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty = true;
+            log.warn("Failed to persist Gemini cache to {}: {}", storePath, e.getMessage());
+        }
+    }
+
+    private boolean isExpired(CachedAnalysis cached, long now) {
+        return now - cached.storedAt > ttlMillis;
+    }
+
+    private static class CachedAnalysis {
+        private String summary;
+        private PostType type;
+        private List<String> tags;
+        private long storedAt;
+
+        static CachedAnalysis from(GeminiService.GeminiResponse response, long storedAt) {
+            CachedAnalysis cached = new CachedAnalysis();
+            cached.summary = response.getSummary();
+            cached.type = response.getPostType();
+            cached.tags = new ArrayList<>(response.getTags());
+            cached.storedAt = storedAt;
+            return cached;
+        }
+
+        GeminiService.GeminiResponse toResponse() {
+            return new GeminiService.GeminiResponse(summary, type, List.copyOf(tags));
+        }
+    }
+}
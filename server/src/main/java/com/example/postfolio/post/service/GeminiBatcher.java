@@ -0,0 +1,147 @@
+package com.example.postfolio.post.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Coalesces concurrent post analyses into multi-post Gemini requests.
+ * A batch is sent when maxBatchSize analyses are waiting or windowMs after the first one arrived,
+ * whichever comes first. Items a successful batch answer does not cover fall back to single calls;
+ * a failed batch fails all of its callers, so an outage does not multiply into per-post calls.
+ * The queue is bounded and every analysis times out, so callers never wait indefinitely.
+ */
+@Service
+@RequiredArgsConstructor
+public class GeminiBatcher {
+
+    private final GeminiService geminiService;
+
+    @Value("${ai.batch.max-size:10}")
+    private int maxBatchSize;
+
+    @Value("${ai.batch.window-ms:50}")
+    private long windowMs;
+
+    @Value("${ai.batch.queue-capacity:1000}")
+    private int queueCapacity;
+
+    // Covers the batching window, waiting for the bulkhead and the Gemini call itself
+    @Value("${ai.batch.timeout-ms:30000}")
+    private long timeoutMs;
+
+    private BlockingQueue<PendingAnalysis> pending;
+    private Thread dispatcher;
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() {
+        pending = new LinkedBlockingQueue<>(queueCapacity);
+        running = true;
+        dispatcher = Thread.ofVirtual().name("gemini-batcher").start(this::runDispatcher);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        dispatcher.interrupt();
+        List<PendingAnalysis> abandoned = new ArrayList<>();
+        pending.drainTo(abandoned);
+        abandoned.forEach(analysis -> analysis.result()
+                .completeExceptionally(new IllegalStateException("Gemini batcher is shutting down")));
+    }
+
+    public CompletableFuture<GeminiService.GeminiResponse> submit(String content) {
+        PendingAnalysis analysis = new PendingAnalysis(content, new CompletableFuture<>());
+        if (!running || !pending.offer(analysis)) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Gemini batch queue is full"));
+        }
+        return analysis.result().orTimeout(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Blocking variant of submit, failing the same way GeminiService.analyzePost does
+     */
+    public GeminiService.GeminiResponse analyze(String content) {
+        try {
+            return submit(content).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof TimeoutException) {
+                throw new RuntimeException("Gemini analysis timed out after " + timeoutMs + " ms");
+            }
+            throw e;
+        }
+    }
+
+    private void runDispatcher() {
+        while (running) {
+            try {
+                List<PendingAnalysis> batch = new ArrayList<>();
+                batch.add(pending.take());
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMs);
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingAnalysis next = remaining > 0 ? pending.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                Thread.ofVirtual().name("gemini-batch").start(() -> dispatch(batch));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void dispatch(List<PendingAnalysis> batch) {
+        if (batch.size() == 1) {
+            analyzeSingly(batch.get(0));
+            return;
+        }
+
+        List<Optional<GeminiService.GeminiResponse>> results;
+        try {
+            results = geminiService.analyzePostsBatch(batch.stream().map(PendingAnalysis::content).toList());
+        } catch (Exception e) {
+            batch.forEach(analysis -> analysis.result().completeExceptionally(e));
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            PendingAnalysis analysis = batch.get(i);
+            Optional<GeminiService.GeminiResponse> result = results.get(i);
+            if (result.isPresent()) {
+                analysis.result().complete(result.get());
+            } else {
+                Thread.ofVirtual().start(() -> analyzeSingly(analysis));
+            }
+        }
+    }
+
+    private void analyzeSingly(PendingAnalysis analysis) {
+        try {
+            analysis.result().complete(geminiService.analyzePost(analysis.content()));
+        } catch (Exception e) {
+            analysis.result().completeExceptionally(e);
+        }
+    }
+
+    private record PendingAnalysis(String content, CompletableFuture<GeminiService.GeminiResponse> result) {}
+}
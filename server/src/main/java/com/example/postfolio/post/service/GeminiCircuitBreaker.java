@@ -0,0 +1,153 @@
+package com.example.postfolio.post.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker and bulkhead around calls to Gemini.
+ * After failureThreshold consecutive failures the breaker opens and calls are rejected without touching
+ * the network; once openMs has passed a single probe is let through to decide whether to close again.
+ * At most maxConcurrent calls are in flight, so a slow upstream cannot tie up every request thread.
+ */
+@Slf4j
+@Component
+public class GeminiCircuitBreaker {
+
+    public enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private enum Admission { ALLOWED, OPEN, PROBE_IN_FLIGHT }
+
+    private final int failureThreshold;
+    private final long openMillis;
+    private final long bulkheadWaitMillis;
+    private final Semaphore bulkhead;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    private final Counter rejectedOpen;
+    private final Counter rejectedProbeInFlight;
+    private final Counter rejectedBulkhead;
+    private final MeterRegistry meterRegistry;
+
+    public GeminiCircuitBreaker(@Value("${ai.gemini.breaker.failure-threshold:5}") int failureThreshold,
+                                @Value("${ai.gemini.breaker.open-ms:30000}") long openMillis,
+                                @Value("${ai.gemini.bulkhead.max-concurrent:8}") int maxConcurrent,
+                                @Value("${ai.gemini.bulkhead.wait-ms:100}") long bulkheadWaitMillis,
+                                MeterRegistry meterRegistry) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+        this.bulkheadWaitMillis = bulkheadWaitMillis;
+        this.bulkhead = new Semaphore(maxConcurrent);
+        this.meterRegistry = meterRegistry;
+
+        // 0 = closed, 1 = half-open, 2 = open
+        Gauge.builder("gemini.breaker.state", this, breaker -> breaker.getState().ordinal()).register(meterRegistry);
+        Gauge.builder("gemini.bulkhead.available", bulkhead, Semaphore::availablePermits).register(meterRegistry);
+        rejectedOpen = Counter.builder("gemini.calls.rejected").tag("reason", "open").register(meterRegistry);
+        rejectedProbeInFlight = Counter.builder("gemini.calls.rejected").tag("reason", "probe_in_flight").register(meterRegistry);
+        rejectedBulkhead = Counter.builder("gemini.calls.rejected").tag("reason", "bulkhead").register(meterRegistry);
+    }
+
+    /**
+     * Run the call if the breaker and bulkhead allow it. Returns empty when the call was rejected,
+     * so callers can fall back immediately; failures of the call itself are rethrown.
+     */
+    public <T> Optional<T> execute(Supplier<T> call) {
+        Admission admission = tryEnter();
+        if (admission != Admission.ALLOWED) {
+            (admission == Admission.OPEN ? rejectedOpen : rejectedProbeInFlight).increment();
+            return Optional.empty();
+        }
+
+        boolean acquired;
+        try {
+            acquired = bulkhead.tryAcquire(bulkheadWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            releaseProbe();
+            rejectedBulkhead.increment();
+            return Optional.empty();
+        }
+
+        try {
+            T result = call.get();
+            onSuccess();
+            return Optional.of(result);
+        } catch (Throwable e) {
+            // Errors too: a probe that never reports back would leave the breaker half-open for good
+            onFailure();
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    public synchronized State getState() {
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openMillis) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    private synchronized Admission tryEnter() {
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openMillis) {
+            transitionTo(State.HALF_OPEN);
+        }
+        return switch (state) {
+            case CLOSED -> Admission.ALLOWED;
+            case OPEN -> Admission.OPEN;
+            case HALF_OPEN -> {
+                // Only one probe at a time decides whether Gemini has recovered
+                if (probeInFlight) {
+                    yield Admission.PROBE_IN_FLIGHT;
+                }
+                probeInFlight = true;
+                yield Admission.ALLOWED;
+            }
+        };
+    }
+
+    private synchronized void releaseProbe() {
+        probeInFlight = false;
+    }
+
+    private synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        probeInFlight = false;
+        if (state != State.CLOSED) {
+            transitionTo(State.CLOSED);
+        }
+    }
+
+    private synchronized void onFailure() {
+        probeInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            openedAt = System.currentTimeMillis();
+            if (state != State.OPEN) {
+                transitionTo(State.OPEN);
+            }
+        }
+    }
+
+    private void transitionTo(State next) {
+        log.warn("Gemini circuit breaker {} -> {}", state, next);
+        state = next;
+        meterRegistry.counter("gemini.breaker.transitions", "to", next.name().toLowerCase()).increment();
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.postfolio.post.service;
+
+import com.example.postfolio.common.text.AhoCorasick;
+import com.example.postfolio.post.models.PostType;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Network-free post analysis: skills from a curated dictionary and a rule-based post type.
+ * Both dictionaries are compiled into Aho-Corasick automata at startup, so a post is analyzed in
+ * one pass per automaton. The confidence score tells callers whether the result is good enough
+ * to skip Gemini.
+ */
+@Slf4j
+@Component
+public class LocalPostAnalyzer {
+
+    private static final String SKILLS_RESOURCE = "skills/skills.txt";
+    private static final String CUES_RESOURCE = "skills/post-type-cues.txt";
+
+    private static final int MAX_TAGS = 8;
+    private static final int MAX_SUMMARY_WORDS = 8;
+    // Cue weight at which the type is considered certain
+    private static final double STRONG_EVIDENCE = 4.0;
+    // Skills found at which the tags are considered complete
+    private static final double ENOUGH_SKILLS = 2.0;
+
+    private AhoCorasick skillMatcher;
+    // Pattern id -> canonical skill name
+    private String[] skillNames;
+
+    private AhoCorasick cueMatcher;
+    // Pattern id -> type and weight of the cue
+    private PostType[] cueTypes;
+    private int[] cueWeights;
+
+    @PostConstruct
+    void load() throws IOException {
+        AhoCorasick.Builder skills = AhoCorasick.builder();
+        List<String> names = new ArrayList<>();
+        for (String line : readLines(SKILLS_RESOURCE)) {
+            String[] variants = line.split("\\|");
+            String canonical = variants[0].trim();
+            for (String variant : variants) {
+                int id = skills.add(variant.trim());
+                if (id == names.size()) {
+                    names.add(canonical);
+                }
+            }
+        }
+        skillMatcher = skills.build();
+        skillNames = names.toArray(String[]::new);
+
+        AhoCorasick.Builder cues = AhoCorasick.builder();
+        List<PostType> types = new ArrayList<>();
+        List<Integer> weights = new ArrayList<>();
+        for (String line : readLines(CUES_RESOURCE)) {
+            String[] fields = line.split("\\|", 3);
+            int id = cues.add(fields[2].trim());
+            if (id == types.size()) {
+                types.add(PostType.valueOf(fields[0].trim()));
+                weights.add(Integer.parseInt(fields[1].trim()));
+            }
+        }
+        cueMatcher = cues.build();
+        cueTypes = types.toArray(PostType[]::new);
+        cueWeights = weights.stream().mapToInt(Integer::intValue).toArray();
+
+        log.info("Loaded {} skill patterns and {} post type cues", skillNames.length, cueTypes.length);
+    }
+
+    public AiResponse analyze(String content) {
+        List<String> skills = extractSkills(content);
+        Map<PostType, Integer> scores = scoreTypes(content, skills.size());
+
+        PostType best = PostType.ACHIEVEMENT;
+        int bestScore = 0;
+        int total = 0;
+        for (Map.Entry<PostType, Integer> entry : scores.entrySet()) {
+            total += entry.getValue();
+            if (entry.getValue() > bestScore) {
+                best = entry.getKey();
+                bestScore = entry.getValue();
+            }
+        }
+
+        // Share of the evidence for the winning type, discounted while the evidence is thin
+        double typeConfidence = total == 0 ? 0.0
+                : (double) bestScore / total * Math.min(1.0, bestScore / STRONG_EVIDENCE);
+        double tagConfidence = Math.min(1.0, skills.size() / ENOUGH_SKILLS);
+
+        return AiResponse.builder()
+                .summary(summarize(content))
+                .postType(best)
+                .tags(skills.isEmpty() ? List.of("General") : skills)
+                .confidence(typeConfidence * tagConfidence)
+                .build();
+    }
+
+    /** Canonical skill names in order of first mention; overlapping mentions keep the leftmost longest. */
+    public List<String> extractSkills(String content) {
+        List<int[]> matches = new ArrayList<>();
+        skillMatcher.forEachMatch(content, (id, start, end) -> {
+            if (AhoCorasick.isWholeWord(content, start, end)) {
+                matches.add(new int[]{id, start, end});
+            }
+        });
+        matches.sort((a, b) -> a[1] != b[1] ? Integer.compare(a[1], b[1]) : Integer.compare(b[2], a[2]));
+
+        Set<String> found = new LinkedHashSet<>();
+        int coveredUntil = 0;
+        for (int[] match : matches) {
+            if (match[1] >= coveredUntil) {
+                found.add(skillNames[match[0]]);
+                coveredUntil = match[2];
+                if (found.size() == MAX_TAGS) {
+                    break;
+                }
+            }
+        }
+        return List.copyOf(found);
+    }
+
+    private Map<PostType, Integer> scoreTypes(String content, int skillCount) {
+        Map<PostType, Integer> scores = new EnumMap<>(PostType.class);
+        boolean[] seen = new boolean[cueTypes.length];
+        cueMatcher.forEachMatch(content, (id, start, end) -> {
+            // Each cue counts once so repetition cannot outvote a different signal
+            if (!seen[id] && AhoCorasick.isWholeWord(content, start, end)) {
+                seen[id] = true;
+                scores.merge(cueTypes[id], cueWeights[id], Integer::sum);
+            }
+        });
+        // A post that mostly lists technologies without any other cue is about skills
+        if (scores.isEmpty() && skillCount > 0) {
+            scores.put(PostType.SKILL, Math.min(skillCount, 3));
+        }
+        return scores;
+    }
+
+    private String summarize(String content) {
+        String firstSentence = content.strip().split("(?<=[.!?])\\s+|\\R", 2)[0];
+        String[] words = firstSentence.split("\\s+");
+        if (words.length <= MAX_SUMMARY_WORDS) {
+            return firstSentence;
+        }
+        return String.join(" ", Arrays.copyOf(words, MAX_SUMMARY_WORDS)) + "...";
+    }
+
+    private static List<String> readLines(String resource) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new ClassPathResource(resource).getInputStream(), StandardCharsets.UTF_8))) {
+            return reader.lines()
+                    .map(String::trim)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.postfolio.post.service;
+
+import com.example.postfolio.post.dto.PostAuthorRow;
+import com.example.postfolio.post.dto.PostReactionRow;
+import com.example.postfolio.post.dto.PostResponseDTO;
+import com.example.postfolio.post.dto.PostTagRow;
+import com.example.postfolio.post.dto.ReactionResponseDTO;
+import com.example.postfolio.post.entity.Post;
+import com.example.postfolio.post.repository.PostRepository;
+import com.example.postfolio.post.repository.ReactionRepository;
+import com.example.postfolio.profile.repository.ProfileRepository;
+import com.example.postfolio.profile.service.ProfilePictureService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Builds PostResponseDTOs for a whole page of posts with a fixed number of queries
+ * (tags, authors, reactions), independent of the page size.
+ */
+@Service
+@RequiredArgsConstructor
+public class PostDtoAssembler {
+
+    private final PostRepository postRepository;
+    private final ProfileRepository profileRepository;
+    private final ReactionRepository reactionRepository;
+
+    @Transactional(readOnly = true)
+    public PostResponseDTO toDto(Post post) {
+        return toDtos(List.of(post)).get(0);
+    }
+
+    @Transactional(readOnly = true)
+    public List<PostResponseDTO> toDtos(List<Post> posts) {
+        if (posts.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> postIds = posts.stream().map(Post::getId).toList();
+        // getId() on the lazy profile proxy does not initialize it
+        Set<Long> profileIds = posts.stream()
+                .map(post -> post.getProfile().getId())
+                .collect(Collectors.toSet());
+
+        Map<Long, List<String>> tagsByPost = postRepository.findTagRowsByPostIds(postIds).stream()
+                .collect(Collectors.groupingBy(PostTagRow::postId,
+                        Collectors.mapping(PostTagRow::tag, Collectors.toList())));
+
+        Map<Long, PostAuthorRow> authorsByProfile = profileRepository.findAuthorRowsByIds(profileIds).stream()
+                .collect(Collectors.toMap(PostAuthorRow::profileId, Function.identity()));
+
+        Map<Long, List<ReactionResponseDTO>> reactionsByPost = reactionRepository.findRowsByPostIds(postIds).stream()
+                .collect(Collectors.groupingBy(PostReactionRow::postId,
+                        Collectors.mapping(this::toReactionDto, Collectors.toList())));
+
+        return posts.stream()
+                .map(post -> {
+                    Long profileId = post.getProfile().getId();
+                    PostAuthorRow author = authorsByProfile.get(profileId);
+                    return PostResponseDTO.builder()
+                            .id(post.getId())
+                            .content(post.getContent())
+                            .type(post.getType())
+                            .tags(tagsByPost.getOrDefault(post.getId(), List.of()))
+                            .cvHeading(post.getCvHeading())
+                            .autoTagged(post.getAutoTagged())
+                            .profileId(profileId)
+                            .profileName(author != null ? author.name() : null)
+                            .profilePictureUrl(author != null
+                                    ? ProfilePictureService.pictureUrl(author.profileId(), author.pictureHash(),
+                                            ProfilePictureService.LIST_AVATAR_SIZE) : null)
+                            .createdAt(post.getCreatedAt())
+                            .reactions(reactionsByPost.getOrDefault(post.getId(), List.of()))
+                            .build();
+                })
+                .collect(Collectors.toList());
+    }
+
+    private ReactionResponseDTO toReactionDto(PostReactionRow row) {
+        return ReactionResponseDTO.builder()
+                .id(row.id())
+                .type(row.type())
+                .userName(row.userName())
+                .createdAt(row.createdAt())
+                .build();
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.postfolio.post.service;
+
+import com.example.postfolio.cvInApp.service.CvUpdateService;
+import com.example.postfolio.post.entity.Post;
+import com.example.postfolio.post.repository.PostRepository;
+import com.example.postfolio.search.service.PostSearchIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Background AI enrichment of new posts.
+ * Posts are saved with local tags and their ids queued here; virtual-thread workers keep the local
+ * analysis when it is confident enough and otherwise call Gemini outside of any transaction, then apply
+ * type, tags and CV heading in a short write transaction.
+ * When the queue is full or all attempts fail (including attempts that only got the fallback analysis
+ * while Gemini was unavailable) the post simply stays autoTagged=false (needs review).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostEnrichmentPipeline {
+
+    private final PostRepository postRepository;
+    private final GeminiBatcher geminiBatcher;
+    private final MockAiService mockAiService;
+    private final CvUpdateService cvUpdateService;
+    private final PostSearchIndex postSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${ai.enrichment.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${ai.enrichment.workers:32}")
+    private int workerCount;
+
+    @Value("${ai.enrichment.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${ai.enrichment.retry-backoff-ms:500}")
+    private long retryBackoffMs;
+
+    @Value("${ai.local.confidence-threshold:0.7}")
+    private double localConfidenceThreshold;
+
+    private BlockingQueue<Long> queue;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        Gauge.builder("ai.enrichment.queue.depth", this, PostEnrichmentPipeline::getQueueDepth).register(meterRegistry);
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            workers.add(Thread.ofVirtual().name("post-enrichment-" + i).start(this::runWorker));
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+    }
+
+    /**
+     * Queue a post for enrichment once the current transaction (if any) has committed,
+     * so workers never look for a row that is not visible yet.
+     */
+    public void submit(Long postId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(postId);
+                }
+            });
+        } else {
+            enqueue(postId);
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    private void enqueue(Long postId) {
+        if (!queue.offer(postId)) {
+            log.warn("Enrichment queue full ({}), post {} left for review", queueCapacity, postId);
+        }
+    }
+
+    private void runWorker() {
+        while (running) {
+            try {
+                enrichWithRetry(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Unexpected error in enrichment worker", e);
+            }
+        }
+    }
+
+    private void enrichWithRetry(Long postId) throws InterruptedException {
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                enrich(postId);
+                return;
+            } catch (Exception e) {
+                if (attempt == maxAttempts) {
+                    log.error("Giving up on AI enrichment of post {} after {} attempts: {}",
+                            postId, attempt, e.getMessage());
+                    return;
+                }
+                log.warn("AI enrichment of post {} failed (attempt {}/{}): {}",
+                        postId, attempt, maxAttempts, e.getMessage());
+                Thread.sleep(retryBackoffMs << (attempt - 1));
+            }
+        }
+    }
+
+    /**
+     * The local analysis, if it is confident enough to be used without asking Gemini
+     */
+    Optional<GeminiService.GeminiResponse> analyzeLocally(String content) {
+        AiResponse local = mockAiService.analyzeContent(content);
+        if (local.getConfidence() < localConfidenceThreshold) {
+            return Optional.empty();
+        }
+        return Optional.of(new GeminiService.GeminiResponse(local.getSummary(), local.getPostType(), local.getTags()));
+    }
+
+    private GeminiService.GeminiResponse analyze(String content) {
+        // Remote call happens without holding a connection or transaction; concurrent workers share batches
+        return analyzeLocally(content).orElseGet(() -> geminiBatcher.analyze(content));
+    }
+
+    private void enrich(Long postId) {
+        String content = transactionTemplate.execute(status ->
+                postRepository.findById(postId).map(Post::getContent).orElse(null));
+        if (content == null) {
+            return; // deleted before we got to it
+        }
+
+        GeminiService.GeminiResponse analysis = analyze(content);
+        if (analysis.isFallback()) {
+            // Gemini is unavailable: retry later instead of marking the post tagged with a guess
+            throw new IllegalStateException("Gemini unavailable, only a fallback analysis was returned");
+        }
+
+        transactionTemplate.executeWithoutResult(status -> postRepository.findById(postId)
+                .filter(post -> content.equals(post.getContent())) // edited meanwhile: the edit re-analyzes
+                .ifPresent(post -> {
+                    post.setType(analysis.getPostType());
+                    post.setTags(analysis.getTags());
+                    post.setCvHeading(analysis.getSummary());
+                    post.setAutoTagged(true);
+                    post.setUpdatedAt(LocalDateTime.now());
+                    Post savedPost = postRepository.save(post);
+                    postSearchIndex.postSaved(savedPost);
+
+                    cvUpdateService.updateCvFromPost(savedPost);
+                }));
+    }
+}
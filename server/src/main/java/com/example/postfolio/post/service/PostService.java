@@ -1,6 +1,9 @@
 package com.example.postfolio.post.service;
 
+import com.example.postfolio.common.pagination.Cursor;
+import com.example.postfolio.common.pagination.CursorPage;
 import com.example.postfolio.cvInApp.service.CvUpdateService;
+import com.example.postfolio.feed.service.TimelineService;
 import com.example.postfolio.post.dto.CreatePostDTO;
 import com.example.postfolio.post.dto.PostResponseDTO;
 import com.example.postfolio.post.dto.UpdatePostDTO;
@@ -9,14 +12,15 @@ import com.example.postfolio.post.models.PostType;
 import com.example.postfolio.post.repository.PostRepository;
 import com.example.postfolio.profile.entity.Profile;
 import com.example.postfolio.profile.service.ProfileService;
+import com.example.postfolio.search.service.PostSearchIndex;
 import com.example.postfolio.user.entity.User;
-import com.example.postfolio.user.repository.UserRepository;
+import com.example.postfolio.user.service.CurrentUserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
@@ -38,30 +42,26 @@ public class PostService {
     private final ProfileService profileService;
     private final GeminiService geminiService;
     private final CvUpdateService cvUpdateService;
-    private final UserRepository userRepository;
+    private final CurrentUserService currentUserService;
     private final ReactionRepository reactionRepository;
+    private final TimelineService timelineService;
+    private final PostEnrichmentPipeline postEnrichmentPipeline;
+    private final MockAiService mockAiService;
+    private final PostSearchIndex postSearchIndex;
 
     @Transactional
     public Post createPost(Long profileId, String content) {
         Profile profile = profileService.getProfileById(profileId);
-        
-        try {
-            GeminiService.GeminiResponse analysis = geminiService.analyzePost(content);
-            Post savedPost = savePost(content, profile, analysis.getPostType(), 
-                                    analysis.getTags(), analysis.getSummary(), true);
-            
-            cvUpdateService.updateCvFromPost(savedPost);
-            
-            return savedPost;
-        } catch (Exception e) {
-            log.error("Failed to generate CV heading for post, using fallback", e);
-            Post savedPost = savePost(content, profile, null, 
-                                    List.of(), generateFallbackCvHeading(content), false);
-            
-            cvUpdateService.updateCvFromPost(savedPost);
-            
-            return savedPost;
-        }
+
+        // Local tags are shown right away; the final analysis and the CV update come from the enrichment pipeline
+        AiResponse localAnalysis = mockAiService.analyzeContent(content);
+        Post savedPost = savePost(content, profile, localAnalysis.getPostType(),
+                                localAnalysis.getTags(), generateFallbackCvHeading(content), false);
+        timelineService.publish(savedPost, profile.getUser().getId());
+        postEnrichmentPipeline.submit(savedPost.getId());
+        postSearchIndex.postSaved(savedPost);
+
+        return savedPost;
     }
 
     @Transactional
@@ -71,16 +71,25 @@ public class PostService {
 
         try {
             GeminiService.GeminiResponse analysis = geminiService.analyzePost(post.getContent());
+            if (analysis.isFallback()) {
+                throw new ResponseStatusException(
+                        HttpStatus.SERVICE_UNAVAILABLE,
+                        "AI analysis is temporarily unavailable, please try again later"
+                );
+            }
             post.setType(analysis.getPostType());
             post.setTags(analysis.getTags());
             post.setCvHeading(analysis.getSummary());
             post.setAutoTagged(true);
             post.setUpdatedAt(LocalDateTime.now());
             Post savedPost = postRepository.save(post);
+            postSearchIndex.postSaved(savedPost);
 
             cvUpdateService.updateCvFromPost(savedPost);  // Update CV after reprocessing
 
             return savedPost;
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to reprocess post {} with AI: {}", postId, e.getMessage());
             throw new ResponseStatusException(
@@ -117,6 +126,18 @@ public class PostService {
         return postRepository.findByProfile(profile, pageable);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<Post> getProfilePostsPage(Long profileId, String cursorToken, int limit) {
+        Profile profile = profileService.getProfileById(profileId);
+        Cursor cursor = Cursor.decode(cursorToken);
+        int pageSize = CursorPage.normalizeLimit(limit);
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+        List<Post> rows = cursor == null
+                ? postRepository.findPageByProfile(profile, page)
+                : postRepository.findPageByProfileBefore(profile, cursor.createdAt(), cursor.id(), page);
+        return CursorPage.of(rows, pageSize, post -> new Cursor(post.getCreatedAt(), post.getId()));
+    }
+
     @Transactional(readOnly = true)
     public List<Post> getPostsByType(Long profileId, PostType type) {
         Profile profile = profileService.getProfileById(profileId);
@@ -129,10 +150,17 @@ public class PostService {
         return postRepository.findByProfileAndTagsContaining(profile, tag);
     }
 
-    @Transactional(readOnly = true)
-    public List<Post> getFeedPosts() {
+    @Transactional
+    public List<Post> getFeedPosts(int limit) {
         User currentUser = getCurrentUser();
-        return postRepository.findPostsFromFriendsAndSelf(currentUser);
+        return timelineService.getTimeline(currentUser.getId(), limit);
+    }
+
+    @Transactional
+    public CursorPage<Post> getFeedPage(String cursorToken, int limit) {
+        User currentUser = getCurrentUser();
+        return timelineService.getTimelinePage(
+                currentUser.getId(), Cursor.decode(cursorToken), CursorPage.normalizeLimit(limit));
     }
 
     @Transactional
@@ -155,6 +183,7 @@ public class PostService {
         post.setAutoTagged(false);
 
         Post savedPost = postRepository.save(post);
+        postSearchIndex.postSaved(savedPost);
 
         cvUpdateService.updateCvFromPost(savedPost);  // Update CV after post update
 
@@ -170,6 +199,7 @@ public class PostService {
         post.setAutoTagged(false);
 
         Post savedPost = postRepository.save(post);
+        postSearchIndex.postSaved(savedPost);
 
         cvUpdateService.updateCvFromPost(savedPost);  // Update CV after tags update
 
@@ -193,6 +223,8 @@ public class PostService {
         validatePostOwnership(post, profileId);
 
         postRepository.delete(post);
+        timelineService.retract(postId);
+        postSearchIndex.postDeleted(postId);
 
         // Remove CV entries linked to this post
         cvUpdateService.removeCvEntriesByPostId(postId);
@@ -223,6 +255,18 @@ public class PostService {
         return reactionRepository.findByPostWithUser(post);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<Reaction> getPostReactionsPage(Long postId, String cursorToken, int limit) {
+        Post post = getPostById(postId);
+        Cursor cursor = Cursor.decode(cursorToken);
+        int pageSize = CursorPage.normalizeLimit(limit);
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+        List<Reaction> rows = cursor == null
+                ? reactionRepository.findPageByPostWithUser(post, page)
+                : reactionRepository.findPageByPostWithUserBefore(post, cursor.createdAt(), cursor.id(), page);
+        return CursorPage.of(rows, pageSize, reaction -> new Cursor(reaction.getCreatedAt(), reaction.getId()));
+    }
+
     private Post savePost(String content, Profile profile, PostType type,
                           List<String> tags, String cvHeading, boolean autoTagged) {
         return postRepository.save(Post.builder()
@@ -251,9 +295,7 @@ public class PostService {
     }
 
     private User getCurrentUser() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        return currentUserService.getCurrentUser();
     }
 
     public List<ReactionResponseDTO> convertReactionsToDto(List<Reaction> reactions) {
@@ -0,0 +1,245 @@
+package com.example.postfolio.post.service;
+
+import com.example.postfolio.cvInApp.service.CvUpdateService;
+import com.example.postfolio.post.entity.Post;
+import com.example.postfolio.post.entity.RetagJob;
+import com.example.postfolio.post.models.RetagJobStatus;
+import com.example.postfolio.post.repository.PostRepository;
+import com.example.postfolio.post.repository.RetagJobRepository;
+import com.example.postfolio.search.service.PostSearchIndex;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Admin-triggered bulk re-tagging of every post with autoTagged=false.
+ * The backlog is walked in id order in chunks; each chunk is analyzed with bounded parallelism and a
+ * rate limit on Gemini calls, then applied and checkpointed in a single transaction. A job still
+ * RUNNING at startup was interrupted and is resumed from its checkpoint.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RetagJobService {
+
+    private final RetagJobRepository retagJobRepository;
+    private final PostRepository postRepository;
+    private final PostEnrichmentPipeline postEnrichmentPipeline;
+    private final GeminiBatcher geminiBatcher;
+    private final CvUpdateService cvUpdateService;
+    private final PostSearchIndex postSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${ai.retag.chunk-size:100}")
+    private int chunkSize;
+
+    @Value("${ai.retag.parallelism:8}")
+    private int parallelism;
+
+    @Value("${ai.retag.rate-per-second:5}")
+    private double ratePerSecond;
+
+    private final Map<Long, Thread> runners = new ConcurrentHashMap<>();
+    private final Set<Long> cancelRequests = ConcurrentHashMap.newKeySet();
+    private volatile boolean shuttingDown;
+    // Earliest time the next Gemini call may start
+    private long nextCallAtNanos;
+
+    public synchronized RetagJob startJob(String startedBy) {
+        if (retagJobRepository.existsByStatus(RetagJobStatus.RUNNING)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A retag job is already running");
+        }
+        RetagJob job = retagJobRepository.save(RetagJob.builder()
+                .status(RetagJobStatus.RUNNING)
+                .lastPostId(0L)
+                .totalPosts(postRepository.countByAutoTaggedFalse())
+                .startedBy(startedBy)
+                .build());
+        launch(job.getId());
+        return job;
+    }
+
+    public RetagJob getJob(Long jobId) {
+        return retagJobRepository.findById(jobId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Retag job not found"));
+    }
+
+    public RetagJob getLatestJob() {
+        return retagJobRepository.findTopByOrderByIdDesc()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No retag job has been run"));
+    }
+
+    /**
+     * Ask a running job to stop; it finishes the chunk in flight first
+     */
+    public RetagJob cancelJob(Long jobId) {
+        RetagJob job = getJob(jobId);
+        if (job.getStatus() != RetagJobStatus.RUNNING) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Retag job is not running");
+        }
+        cancelRequests.add(jobId);
+        return job;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        for (RetagJob job : retagJobRepository.findByStatus(RetagJobStatus.RUNNING)) {
+            log.info("Resuming retag job {} after post {}", job.getId(), job.getLastPostId());
+            launch(job.getId());
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        // Jobs stay RUNNING in the database so the next start resumes them
+        shuttingDown = true;
+        runners.values().forEach(Thread::interrupt);
+    }
+
+    private void launch(Long jobId) {
+        runners.put(jobId, Thread.ofVirtual().name("retag-job-" + jobId).start(() -> run(jobId)));
+    }
+
+    private void run(Long jobId) {
+        try {
+            while (true) {
+                if (cancelRequests.remove(jobId)) {
+                    finish(jobId, RetagJobStatus.CANCELLED, null);
+                    return;
+                }
+                RetagJob job = getJob(jobId);
+                List<Long> ids = postRepository.findIdsNeedingReviewAfter(
+                        job.getLastPostId(), PageRequest.of(0, chunkSize));
+                if (ids.isEmpty()) {
+                    finish(jobId, RetagJobStatus.COMPLETED, null);
+                    return;
+                }
+
+                Map<Long, String> contents = transactionTemplate.execute(status ->
+                        postRepository.findAllById(ids).stream()
+                                .collect(Collectors.toMap(Post::getId, Post::getContent)));
+                Map<Long, GeminiService.GeminiResponse> analyses = analyzeChunk(contents);
+                commitChunk(jobId, ids, contents, analyses);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            if (!shuttingDown) {
+                log.error("Retag job {} failed", jobId, e);
+                finish(jobId, RetagJobStatus.FAILED, e.getMessage());
+            }
+        } finally {
+            runners.remove(jobId);
+        }
+    }
+
+    private Map<Long, GeminiService.GeminiResponse> analyzeChunk(Map<Long, String> contents)
+            throws InterruptedException {
+        Map<Long, GeminiService.GeminiResponse> analyses = new ConcurrentHashMap<>();
+        Semaphore permits = new Semaphore(parallelism);
+        List<Thread> workers = new ArrayList<>();
+        for (Map.Entry<Long, String> entry : contents.entrySet()) {
+            Optional<GeminiService.GeminiResponse> local = postEnrichmentPipeline.analyzeLocally(entry.getValue());
+            if (local.isPresent()) {
+                analyses.put(entry.getKey(), local.get());
+                continue;
+            }
+
+            permits.acquire();
+            awaitRateLimit();
+            workers.add(Thread.ofVirtual().start(() -> {
+                try {
+                    GeminiService.GeminiResponse analysis = geminiBatcher.analyze(entry.getValue());
+                    if (analysis.isFallback()) {
+                        // Counted as failed and left for review rather than tagged with a guess
+                        log.warn("Retag of post {} skipped: Gemini unavailable", entry.getKey());
+                    } else {
+                        analyses.put(entry.getKey(), analysis);
+                    }
+                } catch (Exception e) {
+                    log.warn("Retag of post {} failed: {}", entry.getKey(), e.getMessage());
+                } finally {
+                    permits.release();
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return analyses;
+    }
+
+    private void awaitRateLimit() throws InterruptedException {
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long startAt = Math.max(now, nextCallAtNanos);
+            nextCallAtNanos = startAt + (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+            waitNanos = startAt - now;
+        }
+        TimeUnit.NANOSECONDS.sleep(waitNanos);
+    }
+
+    // Results and checkpoint commit together, so a crash never skips or double-counts a chunk
+    private void commitChunk(Long jobId, List<Long> ids, Map<Long, String> contents,
+                             Map<Long, GeminiService.GeminiResponse> analyses) {
+        transactionTemplate.executeWithoutResult(status -> {
+            int retagged = 0;
+            for (Post post : postRepository.findAllById(analyses.keySet())) {
+                GeminiService.GeminiResponse analysis = analyses.get(post.getId());
+                // Edited or tagged by someone else while we were analyzing
+                if (post.getAutoTagged() || !post.getContent().equals(contents.get(post.getId()))) {
+                    continue;
+                }
+                post.setType(analysis.getPostType());
+                post.setTags(analysis.getTags());
+                post.setCvHeading(analysis.getSummary());
+                post.setAutoTagged(true);
+                post.setUpdatedAt(LocalDateTime.now());
+                Post savedPost = postRepository.save(post);
+                postSearchIndex.postSaved(savedPost);
+
+                cvUpdateService.updateCvFromPost(savedPost);
+                retagged++;
+            }
+
+            RetagJob job = getJob(jobId);
+            job.setLastPostId(ids.get(ids.size() - 1));
+            job.setProcessedPosts(job.getProcessedPosts() + ids.size());
+            job.setRetaggedPosts(job.getRetaggedPosts() + retagged);
+            job.setFailedPosts(job.getFailedPosts() + contents.size() - analyses.size());
+            retagJobRepository.save(job);
+        });
+    }
+
+    private void finish(Long jobId, RetagJobStatus status, String error) {
+        RetagJob job = transactionTemplate.execute(tx -> {
+            RetagJob finished = getJob(jobId);
+            finished.setStatus(status);
+            finished.setError(error);
+            finished.setFinishedAt(LocalDateTime.now());
+            return retagJobRepository.save(finished);
+        });
+        log.info("Retag job {} {}: {} processed, {} retagged",
+                jobId, status, job.getProcessedPosts(), job.getRetaggedPosts());
+    }
+}
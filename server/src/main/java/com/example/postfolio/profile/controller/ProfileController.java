@@ -2,18 +2,30 @@ package com.example.postfolio.profile.controller;
 
 import com.example.postfolio.profile.dto.ProfileRequest;
 import com.example.postfolio.profile.dto.ProfileResponse;
+import com.example.postfolio.common.blob.BlobResponseWriter;
+import com.example.postfolio.common.image.service.ImageRenditionService;
+import com.example.postfolio.profile.dto.ProfilePictureRow;
+import com.example.postfolio.profile.service.ProfilePictureService;
 import com.example.postfolio.profile.service.ProfileService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
 @RestController
 @RequestMapping("/api/profile")
 @RequiredArgsConstructor
 public class ProfileController {
 
     private final ProfileService profileService;
+    private final ProfilePictureService profilePictureService;
+    private final BlobResponseWriter blobResponseWriter;
 
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<Void> createOrUpdateProfile(@ModelAttribute ProfileRequest request) {
@@ -34,6 +46,23 @@ public class ProfileController {
         return ResponseEntity.ok().build();
     }
 
+    // Public so it works as a plain <img src>; immutable when requested with the current version
+    @GetMapping("/{id}/picture")
+    public void getProfilePicture(
+            @PathVariable Long id,
+            @RequestParam(required = false) String v,
+            @RequestParam(required = false) Integer size,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        ProfilePictureRow picture = profilePictureService.getPictureInfo(id);
+        ImageRenditionService.Variant variant = profilePictureService.getPictureVariant(picture, size);
+        // A rendition still being generated must not be pinned as the original for a year
+        CacheControl cacheControl = variant.complete() && ProfilePictureService.urlVersion(picture.hash()).equals(v)
+                ? CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable()
+                : CacheControl.noCache().cachePublic();
+        blobResponseWriter.write(variant.hash(), variant.contentType(), cacheControl, request, response);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ProfileResponse> getProfileById(@PathVariable Long id) {
         ProfileResponse profile = profileService.getProfileResponseById(id);
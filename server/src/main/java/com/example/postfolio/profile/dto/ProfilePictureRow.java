@@ -0,0 +1,4 @@
+package com.example.postfolio.profile.dto;
+
+// Scalar projection of the picture metadata on Profile
+public record ProfilePictureRow(String hash, String contentType) {}
@@ -1,6 +1,7 @@
 package com.example.postfolio.profile.dto;
 
 import com.example.postfolio.profile.entity.Profile;
+import com.example.postfolio.profile.service.ProfilePictureService;
 import com.example.postfolio.user.model.Role;
 import lombok.Builder;
 import lombok.Data;
@@ -13,7 +14,7 @@ public class ProfileResponse {
     private Long id;
     private String name;
     private String email;
-    private String pictureBase64;
+    private String pictureUrl;
     private String bio;
     private LocalDate birthDate;
     private String sscResult;
@@ -29,7 +30,8 @@ public class ProfileResponse {
                 .id(profile.getId())
                 .name(profile.getUser().getName())
                 .email(profile.getUser().getEmail())
-                .pictureBase64(profile.getPictureBase64())
+                .pictureUrl(ProfilePictureService.pictureUrl(
+                        profile.getId(), profile.getPictureHash(), ProfilePictureService.PROFILE_HEADER_SIZE))
                 .bio(profile.getBio())
                 .birthDate(profile.getBirthDate())
                 .sscResult(profile.getSscResult())
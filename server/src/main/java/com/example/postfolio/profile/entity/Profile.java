@@ -20,8 +20,12 @@ public class Profile {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(name = "profile_picture", length = 10485760) // ~10MB
-    private String pictureBase64;
+    // SHA-256 of the picture in the blob store
+    @Column(name = "picture_hash", length = 64)
+    private String pictureHash;
+
+    @Column(name = "picture_content_type", length = 64)
+    private String pictureContentType;
 
 
     private String bio;
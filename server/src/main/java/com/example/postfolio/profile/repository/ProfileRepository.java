@@ -1,11 +1,17 @@
 package com.example.postfolio.profile.repository;
 
+import com.example.postfolio.post.dto.PostAuthorRow;
+import com.example.postfolio.profile.dto.ProfilePictureRow;
 import com.example.postfolio.profile.entity.Profile;
 import com.example.postfolio.user.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ProfileRepository extends JpaRepository<Profile, Long> {
@@ -16,4 +22,27 @@ public interface ProfileRepository extends JpaRepository<Profile, Long> {
     
     @Query("SELECT p FROM Profile p JOIN FETCH p.user WHERE p.user = :user")
     Optional<Profile> findByUserWithUser(@Param("user") User user);
+
+    @Query("SELECT new com.example.postfolio.post.dto.PostAuthorRow(p.id, u.name, p.pictureHash) " +
+           "FROM Profile p JOIN p.user u WHERE p.id IN :ids")
+    List<PostAuthorRow> findAuthorRowsByIds(@Param("ids") Collection<Long> ids);
+
+    // Picture metadata without touching the picture column itself
+    @Query("SELECT new com.example.postfolio.profile.dto.ProfilePictureRow(p.pictureHash, p.pictureContentType) " +
+           "FROM Profile p WHERE p.id = :id AND p.pictureHash IS NOT NULL")
+    Optional<ProfilePictureRow> findPictureRowById(@Param("id") Long id);
+
+    // Legacy base64 pictures in the old profile_picture column, which is no longer mapped
+    @Query(value = "SELECT id FROM profiles WHERE profile_picture IS NOT NULL", nativeQuery = true)
+    List<Long> findIdsWithLegacyPicture();
+
+    @Query(value = "SELECT profile_picture FROM profiles WHERE id = :id", nativeQuery = true)
+    Optional<String> findLegacyPictureById(@Param("id") Long id);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE profiles SET picture_hash = :hash, picture_content_type = :contentType, " +
+                   "profile_picture = NULL WHERE id = :id", nativeQuery = true)
+    void moveLegacyPicture(@Param("id") Long id, @Param("hash") String hash,
+                           @Param("contentType") String contentType);
 }
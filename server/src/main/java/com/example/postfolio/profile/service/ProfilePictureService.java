@@ -0,0 +1,145 @@
+package com.example.postfolio.profile.service;
+
+import com.example.postfolio.common.blob.BlobStore;
+import com.example.postfolio.common.image.service.ImageRenditionService;
+import com.example.postfolio.profile.dto.ProfilePictureRow;
+import com.example.postfolio.profile.repository.ProfileRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Profile pictures as separately cacheable resources, stored in the blob store.
+ * The URL handed out in DTOs embeds a prefix of the picture's hash, so clients can cache a URL
+ * forever and pick up a new picture through a new URL.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProfilePictureService {
+
+    // 64 bits of the hash are plenty to tell one user's pictures apart in a URL
+    private static final int URL_VERSION_LENGTH = 16;
+    private static final int SNIFF_LENGTH = 12;
+
+    // Display sizes consumers ask for, in pixels; list avatars are 48 CSS px, requested at 2x
+    public static final int LIST_AVATAR_SIZE = 96;
+    public static final int PROFILE_HEADER_SIZE = 256;
+    public static final int CV_PICTURE_SIZE = 128;
+
+    private final ProfileRepository profileRepository;
+    private final BlobStore blobStore;
+    private final ImageRenditionService imageRenditionService;
+
+    /**
+     * URL of the picture endpoint for a profile at a display size, or null when it has no picture
+     */
+    public static String pictureUrl(Long profileId, String pictureHash, int size) {
+        if (profileId == null || pictureHash == null) {
+            return null;
+        }
+        return "/api/profile/" + profileId + "/picture?v=" + urlVersion(pictureHash) + "&size=" + size;
+    }
+
+    public static String urlVersion(String pictureHash) {
+        return pictureHash.substring(0, URL_VERSION_LENGTH);
+    }
+
+    // Sniffed from the bytes; upload content types are client-supplied and legacy pictures have none
+    public static String contentTypeOf(byte[] head) {
+        if (startsWith(head, 0xFF, 0xD8, 0xFF)) {
+            return "image/jpeg";
+        }
+        if (startsWith(head, 0x89, 'P', 'N', 'G')) {
+            return "image/png";
+        }
+        if (startsWith(head, 'G', 'I', 'F', '8')) {
+            return "image/gif";
+        }
+        if (head.length >= 12 && startsWith(head, 'R', 'I', 'F', 'F')
+                && new String(head, 8, 4, StandardCharsets.US_ASCII).equals("WEBP")) {
+            return "image/webp";
+        }
+        return "application/octet-stream";
+    }
+
+    /**
+     * Stream a picture into the blob store and return its hash and sniffed content type
+     */
+    public ProfilePictureRow storePicture(InputStream picture) throws IOException {
+        String hash = blobStore.store(picture);
+        String contentType = contentTypeOf(blobStore.readHead(hash, SNIFF_LENGTH));
+        imageRenditionService.generateAsync(hash, contentType);
+        return new ProfilePictureRow(hash, contentType);
+    }
+
+    /**
+     * Hash and content type of a profile's picture
+     */
+    public ProfilePictureRow getPictureInfo(Long profileId) {
+        return profileRepository.findPictureRowById(profileId)
+                .filter(picture -> blobStore.exists(picture.hash()))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Profile picture not found"));
+    }
+
+    /**
+     * The blob to serve for a picture at a display size (null for the original)
+     */
+    public ImageRenditionService.Variant getPictureVariant(ProfilePictureRow picture, Integer size) {
+        return imageRenditionService.pick(picture.hash(), picture.contentType(), size);
+    }
+
+    public byte[] readPicture(String pictureHash, String contentType, int size) throws IOException {
+        return imageRenditionService.readForSize(pictureHash, contentType, size);
+    }
+
+    // Moves base64 pictures out of the profiles table into the blob store
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateLegacyPictures() {
+        Thread.ofVirtual().name("picture-migration").start(() -> {
+            List<Long> profileIds;
+            try {
+                profileIds = profileRepository.findIdsWithLegacyPicture();
+            } catch (Exception e) {
+                log.debug("No legacy profile_picture column to migrate: {}", e.getMessage());
+                return;
+            }
+            for (Long profileId : profileIds) {
+                try {
+                    String base64 = profileRepository.findLegacyPictureById(profileId).orElseThrow();
+                    ProfilePictureRow stored = storePicture(
+                            new ByteArrayInputStream(Base64.getDecoder().decode(base64)));
+                    profileRepository.moveLegacyPicture(profileId, stored.hash(), stored.contentType());
+                } catch (Exception e) {
+                    log.warn("Could not migrate picture of profile {}: {}", profileId, e.getMessage());
+                }
+            }
+            if (!profileIds.isEmpty()) {
+                log.info("Moved {} legacy profile pictures to the blob store", profileIds.size());
+            }
+        });
+    }
+
+    private static boolean startsWith(byte[] data, int... prefix) {
+        if (data.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if ((data[i] & 0xFF) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,9 +1,11 @@
 package com.example.postfolio.profile.service;
 
 import com.example.postfolio.profile.dto.ProfileRequest;
+import com.example.postfolio.profile.dto.ProfilePictureRow;
 import com.example.postfolio.profile.dto.ProfileResponse;
 import com.example.postfolio.profile.entity.Profile;
 import com.example.postfolio.profile.repository.ProfileRepository;
+import com.example.postfolio.search.service.UserSearchIndex;
 import com.example.postfolio.user.entity.User;
 import com.example.postfolio.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -12,8 +14,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
-import java.util.Base64;
 import java.util.Optional;
 
 @Service
@@ -22,6 +24,8 @@ public class ProfileService {
 
     private final ProfileRepository profileRepository;
     private final UserRepository userRepository;
+    private final ProfilePictureService profilePictureService;
+    private final UserSearchIndex userSearchIndex;
 
     public void createOrUpdateProfile(ProfileRequest request) {
         // Get currently logged in user
@@ -35,10 +39,11 @@ public class ProfileService {
         // Set fields from request
         profile.setUser(user);
         if (request.profilePicture != null && !request.profilePicture.isEmpty()) {
-            try {
-                byte[] imageBytes = request.profilePicture.getBytes();
-                String base64Image = Base64.getEncoder().encodeToString(imageBytes);
-                profile.setPictureBase64(base64Image);
+            // Streamed into the blob store; only its hash is kept on the profile
+            try (InputStream picture = request.profilePicture.getInputStream()) {
+                ProfilePictureRow stored = profilePictureService.storePicture(picture);
+                profile.setPictureHash(stored.hash());
+                profile.setPictureContentType(stored.contentType());
             } catch (IOException e) {
                 throw new RuntimeException("Failed to process profile picture", e);
             }
@@ -58,6 +63,7 @@ public class ProfileService {
         profile.setUniversityResult(request.universityResult);
 
         profileRepository.save(profile);
+        userSearchIndex.index(user.getId(), user.getName(), user.getEmail());
     }
 
     // Method that returns ProfileResponse for external API calls
@@ -94,6 +100,8 @@ public class ProfileService {
             profile.setUser(user);
             profileRepository.save(profile);
         }
+        // First visit after registering in auth-service; makes the user searchable before the next catch-up
+        userSearchIndex.index(user.getId(), user.getName(), user.getEmail());
     }
 
     public void initializeProfileForCurrentUser() {
@@ -1,5 +1,9 @@
 package com.example.postfolio.search.controller;
 
+import com.example.postfolio.post.models.PostType;
+import com.example.postfolio.search.dto.PostSearchPage;
+import com.example.postfolio.search.dto.TagSuggestion;
+import com.example.postfolio.search.dto.UserSearchPage;
 import com.example.postfolio.search.service.SearchService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -16,12 +20,35 @@ public class SearchController {
     private final SearchService searchService;
 
     @GetMapping("/users")
-    public ResponseEntity<List<SearchService.UserSearchResult>> searchUsers(@RequestParam String q) {
+    public ResponseEntity<UserSearchPage> searchUsers(@RequestParam String q,
+                                                      @RequestParam(defaultValue = "0") int page,
+                                                      @RequestParam(defaultValue = "20") int size,
+                                                      @RequestParam(defaultValue = "false") boolean fuzzy) {
         if (q == null || q.trim().isEmpty()) {
-            return ResponseEntity.ok(List.of());
+            return ResponseEntity.ok(UserSearchPage.builder().results(List.of()).page(page).size(size).build());
         }
-        
-        List<SearchService.UserSearchResult> results = searchService.searchUsers(q.trim());
-        return ResponseEntity.ok(results);
+
+        return ResponseEntity.ok(searchService.searchUsers(q.trim(), page, size, fuzzy));
+    }
+
+    @GetMapping("/posts")
+    public ResponseEntity<PostSearchPage> searchPosts(@RequestParam String q,
+                                                      @RequestParam(required = false) PostType type,
+                                                      @RequestParam(required = false) String tag,
+                                                      @RequestParam(required = false) Long profileId,
+                                                      @RequestParam(defaultValue = "0") int page,
+                                                      @RequestParam(defaultValue = "20") int size) {
+        if (q == null || q.trim().isEmpty()) {
+            return ResponseEntity.ok(PostSearchPage.builder().results(List.of()).page(page).size(size).build());
+        }
+
+        return ResponseEntity.ok(searchService.searchPosts(q.trim(), type, tag, profileId, page, size));
+    }
+
+    // Tag autocomplete for the post tag editor
+    @GetMapping("/tags")
+    public ResponseEntity<List<TagSuggestion>> suggestTags(@RequestParam(defaultValue = "") String q,
+                                                           @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(searchService.suggestTags(q, limit));
     }
 } 
\ No newline at end of file
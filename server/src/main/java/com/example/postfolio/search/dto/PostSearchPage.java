@@ -0,0 +1,17 @@
+package com.example.postfolio.search.dto;
+
+import com.example.postfolio.post.dto.PostResponseDTO;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class PostSearchPage {
+    private List<PostResponseDTO> results;
+    private int page;
+    private int size;
+    private int total;
+    private boolean hasMore;
+}
@@ -0,0 +1,12 @@
+package com.example.postfolio.search.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class TagSuggestion {
+    private String tag;
+    // Posts carrying the tag
+    private int count;
+}
@@ -0,0 +1,20 @@
+package com.example.postfolio.search.dto;
+
+import com.example.postfolio.search.service.SearchService;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class UserSearchPage {
+    private List<SearchService.UserSearchResult> results;
+    private int page;
+    private int size;
+    // Matches counted before the page was cut; a lower bound when partial
+    private int total;
+    private boolean hasMore;
+    // The latency budget ran out before every candidate was ranked
+    private boolean partial;
+}
@@ -0,0 +1,123 @@
+package com.example.postfolio.search.service;
+
+import com.example.postfolio.common.collection.LongHashSet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Sorted dictionary of folded name words, each with the ids of users whose name contains it, for
+ * typo-tolerant lookup. Finding the words within a few edits of a query walks the dictionary in
+ * order as if it were a trie: one edit-distance row per character of the current word, reused for
+ * the prefix shared with the previous word, and every word under a prefix that is already too far
+ * from the query is skipped with a single seek. Distance is optimal string alignment, so a swap of
+ * two adjacent letters counts as one edit. Not thread-safe; UserSearchIndex guards it.
+ */
+public final class NameTermDictionary {
+
+    private final TreeMap<String, LongHashSet> terms = new TreeMap<>();
+
+    @FunctionalInterface
+    public interface TermVisitor {
+        void visit(String term, int distance, LongHashSet userIds);
+    }
+
+    public void add(String term, long userId) {
+        terms.computeIfAbsent(term, t -> new LongHashSet()).add(userId);
+    }
+
+    public void remove(String term, long userId) {
+        LongHashSet userIds = terms.get(term);
+        if (userIds != null && userIds.remove(userId) && userIds.isEmpty()) {
+            terms.remove(term);
+        }
+    }
+
+    public int size() {
+        return terms.size();
+    }
+
+    /**
+     * Visit every word within maxEdits of the query, with its distance
+     */
+    public void forEachWithin(String query, int maxEdits, TermVisitor visitor) {
+        int width = query.length() + 1;
+        // rows.get(d) holds the distances between the first d characters of the current word and each query prefix
+        List<int[]> rows = new ArrayList<>();
+        int[] first = new int[width];
+        for (int j = 0; j < width; j++) {
+            first[j] = j;
+        }
+        rows.add(first);
+
+        String previous = "";
+        int computed = 0; // rows 1..computed belong to previous
+        String term = terms.isEmpty() ? null : terms.firstKey();
+        while (term != null) {
+            int depth = Math.min(commonPrefix(previous, term), computed);
+            boolean dead = false;
+            while (depth < term.length()) {
+                depth++;
+                if (rows.size() <= depth) {
+                    rows.add(new int[width]);
+                }
+                if (fillRow(rows, depth, term, query) > maxEdits) {
+                    dead = true;
+                    break;
+                }
+            }
+            previous = term;
+            computed = depth;
+            if (dead) {
+                // Nothing starting with this prefix can come back within range
+                String next = successor(term.substring(0, depth));
+                term = next != null ? terms.ceilingKey(next) : null;
+                continue;
+            }
+            int distance = rows.get(depth)[query.length()];
+            if (distance <= maxEdits) {
+                visitor.visit(term, distance, terms.get(term));
+            }
+            term = terms.higherKey(term);
+        }
+    }
+
+    // Fill row d for the d-th character of term and return its minimum
+    private static int fillRow(List<int[]> rows, int d, String term, String query) {
+        int[] above = rows.get(d - 1);
+        int[] twoAbove = d > 1 ? rows.get(d - 2) : null;
+        int[] row = rows.get(d);
+        char c = term.charAt(d - 1);
+        row[0] = d;
+        int min = d;
+        for (int j = 1; j < row.length; j++) {
+            int cost = c == query.charAt(j - 1) ? 0 : 1;
+            int value = Math.min(Math.min(above[j] + 1, row[j - 1] + 1), above[j - 1] + cost);
+            if (twoAbove != null && j > 1 && c == query.charAt(j - 2) && term.charAt(d - 2) == query.charAt(j - 1)) {
+                value = Math.min(value, twoAbove[j - 2] + 1);
+            }
+            row[j] = value;
+            min = Math.min(min, value);
+        }
+        return min;
+    }
+
+    private static int commonPrefix(String a, String b) {
+        int limit = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < limit && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    // Smallest string greater than every string starting with prefix
+    private static String successor(String prefix) {
+        int last = prefix.length() - 1;
+        while (last >= 0 && prefix.charAt(last) == Character.MAX_VALUE) {
+            last--;
+        }
+        return last < 0 ? null : prefix.substring(0, last) + (char) (prefix.charAt(last) + 1);
+    }
+}
@@ -0,0 +1,412 @@
+package com.example.postfolio.search.service;
+
+import com.example.postfolio.common.collection.LongHashSet;
+import com.example.postfolio.common.collection.LongObjectHashMap;
+import com.example.postfolio.post.dto.PostSearchRow;
+import com.example.postfolio.post.dto.PostTagRow;
+import com.example.postfolio.post.entity.Post;
+import com.example.postfolio.post.models.PostType;
+import com.example.postfolio.post.repository.PostRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory inverted index over post content, CV heading and tags, ranked with BM25. Each indexed
+ * version of a post gets a new doc number; editing or deleting a post only unlinks its current doc
+ * number, and postings of unlinked docs are skipped when read and dropped when their segment is
+ * merged. New versions go to the writing segment, which is sealed every few hundred posts; when
+ * there are too many sealed segments the smallest are merged in the background.
+ * <p>
+ * Kept current by PostService and the tagging jobs, after their transactions commit, and passes
+ * tag changes on to the autocomplete index. Like the connection graph, only this process's writes
+ * are seen.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostSearchIndex {
+
+    private final PostRepository postRepository;
+    private final TagAutocompleteIndex tagAutocompleteIndex;
+
+    @Value("${search.posts.load-batch-size:2000}")
+    private int loadBatchSize;
+
+    @Value("${search.posts.segment-docs:500}")
+    private int segmentDocs;
+
+    @Value("${search.posts.max-segments:8}")
+    private int maxSegments;
+
+    @Value("${search.posts.merge-factor:4}")
+    private int mergeFactor;
+
+    // Standard BM25 parameters: term frequency saturation and length normalization
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MAX_TERM_LENGTH = 40;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "has", "have", "i", "in", "is",
+            "it", "its", "my", "of", "on", "or", "our", "that", "the", "this", "to", "was", "we", "were",
+            "will", "with");
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<PostSegment> sealed = new ArrayList<>();
+    private PostSegment writing = new PostSegment();
+    private final LongObjectHashMap<IndexedPost> byDoc = new LongObjectHashMap<>();
+    private final LongObjectHashMap<IndexedPost> byPost = new LongObjectHashMap<>();
+    private long lastDoc;
+    private long totalLength;
+
+    private final ExecutorService merger = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "post-index-merger");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // What filters and length normalization need of the current version of a post
+    private record IndexedPost(long doc, long postId, PostType type, Set<String> tags, long profileId, int length) {}
+
+    // A post as captured inside the transaction that changed it
+    private record Source(long postId, String content, String cvHeading, PostType type, List<String> tags, long profileId) {}
+
+    public record Result(List<Long> postIds, int total) {}
+
+    private record Scored(long postId, double score) {}
+
+    // Best first; newer posts win ties
+    private static final Comparator<Scored> RANKING = Comparator
+            .comparingDouble(Scored::score).reversed()
+            .thenComparing(Comparator.comparingLong(Scored::postId).reversed());
+
+    /**
+     * Build one segment from the posts table, in keyset batches
+     */
+    @PostConstruct
+    public void load() {
+        long started = System.currentTimeMillis();
+        long lastId = 0;
+        int posts = 0;
+        List<PostSearchRow> batch;
+        lock.writeLock().lock();
+        try {
+            do {
+                batch = postRepository.findSearchRowsAfter(lastId, PageRequest.of(0, loadBatchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                Map<Long, List<String>> tagsByPost = postRepository
+                        .findTagRowsByPostIds(batch.stream().map(PostSearchRow::id).toList()).stream()
+                        .collect(Collectors.groupingBy(PostTagRow::postId,
+                                Collectors.mapping(PostTagRow::tag, Collectors.toList())));
+                for (PostSearchRow row : batch) {
+                    apply(new Source(row.id(), row.content(), row.cvHeading(), row.type(),
+                            tagsByPost.getOrDefault(row.id(), List.of()), row.profileId()), false);
+                    lastId = row.id();
+                }
+                posts += batch.size();
+            } while (batch.size() == loadBatchSize);
+            seal();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Loaded post search index: {} posts in {} ms", posts, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Index the saved state of a post once the surrounding transaction commits
+     */
+    public void postSaved(Post post) {
+        // Captured now, while the tags collection can still be read
+        List<String> tags = post.getTags() != null ? new ArrayList<>(post.getTags()) : List.of();
+        Source source = new Source(post.getId(), post.getContent(), post.getCvHeading(), post.getType(),
+                tags, post.getProfile().getId());
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                apply(source, true);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Drop a post from results once the surrounding transaction commits
+     */
+    public void postDeleted(Long postId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                IndexedPost previous = unlink(postId);
+                if (previous != null) {
+                    tagAutocompleteIndex.tagsChanged(previous.tags(), List.of());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Posts matching any query term, best BM25 score first, narrowed by the filters that are not
+     * null, and cut to ranks offset to offset + limit
+     */
+    public Result search(String query, PostType type, String tag, Long profileId, int offset, int limit) {
+        Set<String> terms = new LinkedHashSet<>();
+        tokenize(query, terms::add);
+        if (terms.isEmpty() || limit <= 0) {
+            return new Result(List.of(), 0);
+        }
+        String foldedTag = tag != null ? SearchText.fold(tag) : null;
+
+        lock.readLock().lock();
+        try {
+            int liveDocs = byDoc.size();
+            if (liveDocs == 0) {
+                return new Result(List.of(), 0);
+            }
+            double averageLength = (double) totalLength / liveDocs;
+            List<PostSegment> segments = segments();
+            // Dead versions count towards both the doc count and document frequencies until they are
+            // merged away, so a term's frequency never exceeds the doc count and idf stays positive
+            int allDocs = segments.stream().mapToInt(PostSegment::docCount).sum();
+            LongObjectHashMap<double[]> scores = new LongObjectHashMap<>();
+            for (String term : terms) {
+                int documentFrequency = 0;
+                for (PostSegment segment : segments) {
+                    PostingList list = segment.postings(term);
+                    documentFrequency += list != null ? list.size() : 0;
+                }
+                if (documentFrequency == 0) {
+                    continue;
+                }
+                double idf = Math.log(1 + (allDocs - documentFrequency + 0.5) / (documentFrequency + 0.5));
+                for (PostSegment segment : segments) {
+                    PostingList list = segment.postings(term);
+                    if (list == null) {
+                        continue;
+                    }
+                    PostingList.Cursor cursor = list.cursor();
+                    while (cursor.next()) {
+                        IndexedPost post = byDoc.get(cursor.doc());
+                        if (post == null || !matches(post, type, foldedTag, profileId)) {
+                            continue;
+                        }
+                        int frequency = cursor.frequency();
+                        double norm = K1 * (1 - B + B * post.length() / averageLength);
+                        double score = idf * frequency * (K1 + 1) / (frequency + norm);
+                        double[] total = scores.get(post.postId());
+                        if (total == null) {
+                            scores.put(post.postId(), new double[]{score});
+                        } else {
+                            total[0] += score;
+                        }
+                    }
+                }
+            }
+
+            int keep = offset + limit;
+            PriorityQueue<Scored> top = new PriorityQueue<>(keep + 1, RANKING.reversed());
+            scores.forEach((postId, score) -> {
+                top.add(new Scored(postId, score[0]));
+                if (top.size() > keep) {
+                    top.poll();
+                }
+            });
+            List<Scored> ranked = new ArrayList<>(top);
+            ranked.sort(RANKING);
+            List<Long> postIds = new ArrayList<>(Math.max(0, ranked.size() - offset));
+            for (int i = offset; i < ranked.size(); i++) {
+                postIds.add(ranked.get(i).postId());
+            }
+            return new Result(postIds, scores.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int segmentCount() {
+        lock.readLock().lock();
+        try {
+            return sealed.size() + 1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean matches(IndexedPost post, PostType type, String foldedTag, Long profileId) {
+        return (type == null || post.type() == type)
+                && (foldedTag == null || post.tags().contains(foldedTag))
+                && (profileId == null || post.profileId() == profileId);
+    }
+
+    // Caller holds the write lock; live is false while loading, when nothing has changed
+    private void apply(Source source, boolean live) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        tokenize(source.content(), term -> frequencies.merge(term, 1, Integer::sum));
+        tokenize(source.cvHeading(), term -> frequencies.merge(term, 1, Integer::sum));
+        source.tags().forEach(tag -> tokenize(tag, term -> frequencies.merge(term, 1, Integer::sum)));
+        int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+        Set<String> tags = source.tags().stream()
+                .filter(tag -> tag != null)
+                .map(SearchText::fold)
+                .collect(Collectors.toSet());
+
+        IndexedPost previous = unlink(source.postId());
+        if (live) {
+            reportTagChanges(previous != null ? previous.tags() : Set.of(), source.tags(), tags);
+        }
+        IndexedPost post = new IndexedPost(++lastDoc, source.postId(), source.type(), tags, source.profileId(), length);
+        byDoc.put(post.doc(), post);
+        byPost.put(post.postId(), post);
+        totalLength += length;
+        writing.add(post.doc(), frequencies);
+
+        if (live && writing.docCount() >= segmentDocs) {
+            seal();
+            if (sealed.size() > maxSegments) {
+                merger.execute(this::mergeSmallest);
+            }
+        }
+    }
+
+    // Caller holds the write lock
+    private IndexedPost unlink(long postId) {
+        IndexedPost previous = byPost.remove(postId);
+        if (previous != null) {
+            byDoc.remove(previous.doc());
+            totalLength -= previous.length();
+        }
+        return previous;
+    }
+
+    private void reportTagChanges(Set<String> before, List<String> tags, Set<String> after) {
+        List<String> removed = before.stream().filter(tag -> !after.contains(tag)).toList();
+        Set<String> seen = new HashSet<>(before);
+        List<String> added = tags.stream()
+                .filter(tag -> tag != null && seen.add(SearchText.fold(tag)))
+                .toList();
+        if (!removed.isEmpty() || !added.isEmpty()) {
+            tagAutocompleteIndex.tagsChanged(removed, added);
+        }
+    }
+
+    // Caller holds the write lock
+    private void seal() {
+        if (writing.docCount() > 0) {
+            writing.seal();
+            sealed.add(writing);
+            writing = new PostSegment();
+        }
+    }
+
+    /**
+     * Merge the smallest sealed segments into one until there are few enough. Merging reads only
+     * sealed segments and a snapshot of which of their docs are live, so it runs without the lock.
+     */
+    void mergeSmallest() {
+        try {
+            while (true) {
+                List<PostSegment> chosen;
+                LongHashSet live = new LongHashSet();
+                lock.readLock().lock();
+                try {
+                    if (sealed.size() <= maxSegments) {
+                        return;
+                    }
+                    chosen = sealed.stream()
+                            .sorted(Comparator.comparingInt(PostSegment::docCount))
+                            .limit(Math.max(2, mergeFactor))
+                            .toList();
+                    for (PostSegment segment : chosen) {
+                        for (int i = 0; i < segment.docCount(); i++) {
+                            if (byDoc.containsKey(segment.doc(i))) {
+                                live.add(segment.doc(i));
+                            }
+                        }
+                    }
+                } finally {
+                    lock.readLock().unlock();
+                }
+
+                long started = System.currentTimeMillis();
+                PostSegment merged = PostSegment.merge(chosen, live::contains);
+                int inputDocs = chosen.stream().mapToInt(PostSegment::docCount).sum();
+
+                lock.writeLock().lock();
+                try {
+                    sealed.removeIf(segment -> chosen.stream().anyMatch(c -> c == segment));
+                    if (merged.docCount() > 0) {
+                        sealed.add(merged);
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                log.debug("Merged {} post index segments: {} docs in, {} live out, {} ms",
+                        chosen.size(), inputDocs, merged.docCount(), System.currentTimeMillis() - started);
+            }
+        } catch (RuntimeException e) {
+            log.error("Post index merge failed", e);
+        }
+    }
+
+    // Caller holds a lock
+    private List<PostSegment> segments() {
+        List<PostSegment> segments = new ArrayList<>(sealed.size() + 1);
+        segments.addAll(sealed);
+        segments.add(writing);
+        return segments;
+    }
+
+    /**
+     * Folded words of a text, without stop words, single letters and overlong runs
+     */
+    static void tokenize(String text, Consumer<String> terms) {
+        for (String word : SearchText.words(SearchText.fold(text))) {
+            if (word.length() > 1 && word.length() <= MAX_TERM_LENGTH && !STOP_WORDS.contains(word)) {
+                terms.accept(word);
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        merger.shutdownNow();
+    }
+}
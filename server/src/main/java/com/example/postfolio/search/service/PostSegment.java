@@ -0,0 +1,114 @@
+package com.example.postfolio.search.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongPredicate;
+
+/**
+ * A batch of indexed post versions: the postings of every term they contain and their doc numbers.
+ * The newest segment takes writes until it is sealed; sealed segments never change and only leave
+ * the index by being merged into a bigger one, which is when the versions of deleted and edited
+ * posts are finally dropped. Not thread-safe; PostSearchIndex guards it.
+ */
+public final class PostSegment {
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private long[] docs = new long[16];
+    private int docCount;
+
+    public void add(long doc, Map<String, Integer> termFrequencies) {
+        if (docCount == docs.length) {
+            docs = Arrays.copyOf(docs, docs.length << 1);
+        }
+        docs[docCount++] = doc;
+        termFrequencies.forEach((term, frequency) ->
+                postings.computeIfAbsent(term, t -> new PostingList()).add(doc, frequency));
+    }
+
+    public PostingList postings(String term) {
+        return postings.get(term);
+    }
+
+    public int docCount() {
+        return docCount;
+    }
+
+    public long doc(int i) {
+        return docs[i];
+    }
+
+    public int termCount() {
+        return postings.size();
+    }
+
+    public long sizeInBytes() {
+        long bytes = (long) docCount * Long.BYTES;
+        for (PostingList list : postings.values()) {
+            bytes += list.sizeInBytes();
+        }
+        return bytes;
+    }
+
+    // No more writes: release spare capacity
+    public void seal() {
+        docs = Arrays.copyOf(docs, docCount);
+        postings.values().forEach(PostingList::trim);
+    }
+
+    /**
+     * One sealed segment holding the live docs of several, term by term in doc order
+     */
+    public static PostSegment merge(List<PostSegment> segments, LongPredicate live) {
+        PostSegment merged = new PostSegment();
+        long[] liveDocs = segments.stream()
+                .flatMapToLong(segment -> Arrays.stream(segment.docs, 0, segment.docCount))
+                .filter(live)
+                .sorted()
+                .toArray();
+        merged.docs = liveDocs;
+        merged.docCount = liveDocs.length;
+
+        Set<String> terms = new HashSet<>();
+        segments.forEach(segment -> terms.addAll(segment.postings.keySet()));
+        List<PostingList.Cursor> cursors = new ArrayList<>(segments.size());
+        for (String term : terms) {
+            cursors.clear();
+            for (PostSegment segment : segments) {
+                PostingList list = segment.postings.get(term);
+                if (list != null) {
+                    PostingList.Cursor cursor = list.cursor();
+                    if (cursor.next()) {
+                        cursors.add(cursor);
+                    }
+                }
+            }
+            PostingList out = new PostingList();
+            // Doc numbers are unique across segments, so repeatedly taking the smallest head is a plain merge
+            while (!cursors.isEmpty()) {
+                int smallest = 0;
+                for (int i = 1; i < cursors.size(); i++) {
+                    if (cursors.get(i).doc() < cursors.get(smallest).doc()) {
+                        smallest = i;
+                    }
+                }
+                PostingList.Cursor cursor = cursors.get(smallest);
+                if (live.test(cursor.doc())) {
+                    out.add(cursor.doc(), cursor.frequency());
+                }
+                if (!cursor.next()) {
+                    cursors.remove(smallest);
+                }
+            }
+            if (out.size() > 0) {
+                out.trim();
+                merged.postings.put(term, out);
+            }
+        }
+        return merged;
+    }
+}
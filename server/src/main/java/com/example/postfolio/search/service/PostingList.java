@@ -0,0 +1,101 @@
+package com.example.postfolio.search.service;
+
+import java.util.Arrays;
+
+/**
+ * Postings of one term in one segment: ascending doc numbers, each with the term's frequency in
+ * that doc, stored as varint-encoded gaps. A typical entry takes two or three bytes instead of the
+ * twelve of a raw long and int. Appended to while its segment takes writes, read through cursors.
+ */
+public final class PostingList {
+
+    private byte[] bytes = new byte[8];
+    private int length;
+    private int size;
+    private long lastDoc;
+
+    public void add(long doc, int frequency) {
+        if (doc <= lastDoc) {
+            throw new IllegalArgumentException("Doc numbers must ascend: " + doc + " after " + lastDoc);
+        }
+        if (length + 15 > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length << 1, length + 15));
+        }
+        writeVarLong(doc - lastDoc);
+        writeVarLong(frequency);
+        lastDoc = doc;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int sizeInBytes() {
+        return length;
+    }
+
+    // Drop the spare capacity once no more entries will come
+    public void trim() {
+        if (bytes.length != length) {
+            bytes = Arrays.copyOf(bytes, length);
+        }
+    }
+
+    public Cursor cursor() {
+        return new Cursor(bytes, length);
+    }
+
+    private void writeVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[length++] = (byte) value;
+    }
+
+    /**
+     * Forward-only reader; call next() before reading the first entry
+     */
+    public static final class Cursor {
+        private final byte[] bytes;
+        private final int length;
+        private int position;
+        private long doc;
+        private int frequency;
+
+        private Cursor(byte[] bytes, int length) {
+            this.bytes = bytes;
+            this.length = length;
+        }
+
+        public boolean next() {
+            if (position >= length) {
+                return false;
+            }
+            doc += readVarLong();
+            frequency = (int) readVarLong();
+            return true;
+        }
+
+        public long doc() {
+            return doc;
+        }
+
+        public int frequency() {
+            return frequency;
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+}
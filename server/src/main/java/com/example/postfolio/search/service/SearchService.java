@@ -2,44 +2,141 @@ package com.example.postfolio.search.service;
 
 import com.example.postfolio.connection.model.ConnectionStatus;
 import com.example.postfolio.connection.service.ConnectionService;
+import com.example.postfolio.post.entity.Post;
+import com.example.postfolio.post.models.PostType;
+import com.example.postfolio.post.repository.PostRepository;
+import com.example.postfolio.post.service.PostDtoAssembler;
+import com.example.postfolio.search.dto.PostSearchPage;
+import com.example.postfolio.search.dto.TagSuggestion;
+import com.example.postfolio.search.dto.UserSearchPage;
 import com.example.postfolio.user.entity.User;
-import com.example.postfolio.user.repository.UserRepository;
+import com.example.postfolio.user.service.CurrentUserService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class SearchService {
 
-    private final UserRepository userRepository;
+    private final UserSearchIndex userSearchIndex;
+    private final CurrentUserService currentUserService;
     private final ConnectionService connectionService;
+    private final PostSearchIndex postSearchIndex;
+    private final PostRepository postRepository;
+    private final PostDtoAssembler postDtoAssembler;
+    private final TagAutocompleteIndex tagAutocompleteIndex;
 
-    public List<UserSearchResult> searchUsers(String searchTerm) {
+    @Value("${search.users.max-page-size:50}")
+    private int maxPageSize;
+
+    @Value("${search.posts.max-page-size:50}")
+    private int maxPostPageSize;
+
+    // Deepest rank a page may reach; also keeps page * size far from int overflow
+    @Value("${search.users.max-results:1000}")
+    private int maxResults;
+
+    @Value("${search.posts.max-results:1000}")
+    private int maxPostResults;
+
+    @Value("${search.users.budget-ms:50}")
+    private long budgetMs;
+
+    /**
+     * One page of people matching a term, best matches first, excluding the current user. With fuzzy,
+     * names a typo or two away from the term follow the exact matches.
+     */
+    public UserSearchPage searchUsers(String searchTerm, int page, int size, boolean fuzzy) {
+        if (page < 0 || size < 1 || size > maxPageSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "page must be >= 0 and size between 1 and " + maxPageSize);
+        }
+        requireWithinResults(page, size, maxResults);
         User currentUser = getCurrentUser();
-        
-        List<User> users = userRepository.searchUsers(searchTerm, currentUser.getId());
-        
-        return users.stream()
-                .map(user -> {
-                    ConnectionStatus connectionStatus = connectionService.getConnectionStatus(user.getId());
-                    return UserSearchResult.builder()
-                            .id(user.getId())
-                            .name(user.getName())
-                            .email(user.getEmail())
-                            .connectionStatus(connectionStatus)
-                            .build();
-                })
+        UserSearchIndex.Result result = userSearchIndex.search(searchTerm, currentUser.getId(),
+                page * size, size, TimeUnit.MILLISECONDS.toNanos(budgetMs), fuzzy);
+        // All hits' statuses in one lookup instead of one per row
+        Map<Long, ConnectionStatus> statuses = connectionService.getConnectionStatuses(
+                currentUser.getId(), result.hits().stream().map(UserSearchIndex.Hit::id).toList());
+
+        List<UserSearchResult> results = result.hits().stream()
+                .map(hit -> UserSearchResult.builder()
+                        .id(hit.id())
+                        .name(hit.name())
+                        .email(hit.email())
+                        .connectionStatus(statuses.get(hit.id()))
+                        .build())
                 .collect(Collectors.toList());
+        return UserSearchPage.builder()
+                .results(results)
+                .page(page)
+                .size(size)
+                .total(result.total())
+                .hasMore(hasMore(result.total(), page, size, maxResults))
+                .partial(result.partial())
+                .build();
+    }
+
+    /**
+     * One page of posts matching a text query, best BM25 score first, optionally narrowed to a post
+     * type, a tag and an author's profile
+     */
+    @Transactional(readOnly = true)
+    public PostSearchPage searchPosts(String query, PostType type, String tag, Long profileId, int page, int size) {
+        if (page < 0 || size < 1 || size > maxPostPageSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "page must be >= 0 and size between 1 and " + maxPostPageSize);
+        }
+        requireWithinResults(page, size, maxPostResults);
+        PostSearchIndex.Result result = postSearchIndex.search(query, type, tag, profileId, page * size, size);
+        Map<Long, Post> postsById = postRepository.findAllById(result.postIds()).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        // Keep the index's ranking; a post deleted since it was ranked is simply skipped
+        List<Post> posts = result.postIds().stream()
+                .map(postsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return PostSearchPage.builder()
+                .results(postDtoAssembler.toDtos(posts))
+                .page(page)
+                .size(size)
+                .total(result.total())
+                .hasMore(hasMore(result.total(), page, size, maxPostResults))
+                .build();
+    }
+
+    /**
+     * The most used tags starting with a prefix; an empty prefix gives the most used tags overall
+     */
+    public List<TagSuggestion> suggestTags(String prefix, int limit) {
+        if (limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be at least 1");
+        }
+        return tagAutocompleteIndex.suggest(prefix, limit);
+    }
+
+    // Another page exists only if there are more results and it still fits in the result window
+    private static boolean hasMore(int total, int page, int size, int maxResults) {
+        return total > (long) (page + 1) * size && (long) (page + 2) * size <= maxResults;
+    }
+
+    private static void requireWithinResults(int page, int size, int maxResults) {
+        if ((long) (page + 1) * size > maxResults) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Only the first " + maxResults + " results can be paged through");
+        }
     }
 
     private User getCurrentUser() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        return currentUserService.getCurrentUser();
     }
 
     public static class UserSearchResult {
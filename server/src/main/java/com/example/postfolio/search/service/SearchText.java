@@ -0,0 +1,38 @@
+package com.example.postfolio.search.service;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Text normalization shared by the search indexes, so indexed text and queries fold the same way
+ */
+public final class SearchText {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern CONTROLS = Pattern.compile("\\p{Cntrl}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+    private static final Pattern WORD_BREAK = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private SearchText() {
+    }
+
+    /**
+     * Lower-case, strip accents and control characters, and collapse whitespace
+     */
+    public static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        String stripped = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        stripped = SPACES.matcher(stripped).replaceAll(" ");
+        return CONTROLS.matcher(stripped).replaceAll("").trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Runs of letters and digits in already folded text
+     */
+    public static String[] words(String folded) {
+        return WORD_BREAK.splitAsStream(folded).filter(word -> !word.isEmpty()).toArray(String[]::new);
+    }
+}
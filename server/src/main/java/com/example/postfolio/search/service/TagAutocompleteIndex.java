@@ -0,0 +1,266 @@
+package com.example.postfolio.search.service;
+
+import com.example.postfolio.post.dto.TagCountRow;
+import com.example.postfolio.post.repository.PostRepository;
+import com.example.postfolio.search.dto.TagSuggestion;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tag autocomplete ranked by how many posts carry each tag. Tags are kept as sorted arrays, where
+ * every prefix is a contiguous range, so the sorted array serves as an implicit trie with no node
+ * objects. Each prefix that covers more than {@code max-suggestions} tags stores its top tags,
+ * best first. A lookup is then a map hit or a binary search over a short range.
+ * <p>
+ * The arrays are rebuilt in the background from post_tags. Tag changes reported in between are
+ * kept as per-tag count adjustments and merged into results. Recording a change and swapping change
+ * sets around a rebuild share a lock, so no change is lost. A change reported while the rebuild
+ * query runs may or may not already be in its counts. It is kept, so it can be counted twice until
+ * the next rebuild; counts between rebuilds are close but not exact.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TagAutocompleteIndex {
+
+    private final PostRepository postRepository;
+
+    @Value("${search.tags.max-suggestions:10}")
+    private int maxSuggestions;
+
+    @Value("${search.tags.max-pending-changes:1000}")
+    private int maxPendingChanges;
+
+    private static final Snapshot EMPTY = new Snapshot(new String[0], new String[0], new int[0], Map.of());
+
+    private volatile State state = new State(EMPTY, new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+    // Held to record changes and to swap change sets; suggest reads without it
+    private final Object changesLock = new Object();
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "tag-autocomplete-rebuilder");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Folded tags in sorted order, their most used spelling and post count, and the best tags of
+     * every prefix wider than the suggestion limit, as indexes into those arrays
+     */
+    private record Snapshot(String[] keys, String[] labels, int[] counts, Map<String, int[]> topByPrefix) {}
+
+    // Count change of a tag since the snapshot; the label spells tags the snapshot does not know
+    private record Change(String label, int delta) {
+        Change plus(Change other) {
+            return new Change(label != null ? label : other.label, delta + other.delta);
+        }
+    }
+
+    // Changes made while a rebuild runs go to pending; draining holds the ones the rebuild will absorb
+    private record State(Snapshot snapshot, Map<String, Change> draining, Map<String, Change> pending) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        requestRebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${search.tags.rebuild-interval-ms:600000}",
+               initialDelayString = "${search.tags.rebuild-interval-ms:600000}")
+    public void scheduledRebuild() {
+        requestRebuild();
+    }
+
+    public void requestRebuild() {
+        if (!rebuildQueued.compareAndSet(false, true)) {
+            return;
+        }
+        rebuilder.execute(() -> {
+            rebuildQueued.set(false);
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.error("Tag autocomplete rebuild failed", e);
+            }
+        });
+    }
+
+    void rebuild() {
+        long started = System.currentTimeMillis();
+        // Everything reported so far was committed before the query below starts, so the query covers it
+        synchronized (changesLock) {
+            State current = state;
+            Map<String, Change> draining = new ConcurrentHashMap<>(current.draining());
+            current.pending().forEach((key, change) -> draining.merge(key, change, Change::plus));
+            state = new State(current.snapshot(), draining, new ConcurrentHashMap<>());
+        }
+
+        Snapshot built = build(postRepository.countPostsByTag(), maxSuggestions);
+        synchronized (changesLock) {
+            state = new State(built, Map.of(), state.pending());
+        }
+        log.info("Rebuilt tag autocomplete: {} tags, {} cached prefixes in {} ms",
+                built.keys().length, built.topByPrefix().size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Record a post's tag changes; callers report them once the change is committed
+     */
+    public void tagsChanged(Collection<String> removed, Collection<String> added) {
+        int pendingSize;
+        synchronized (changesLock) {
+            Map<String, Change> pending = state.pending();
+            for (String tag : removed) {
+                pending.merge(SearchText.fold(tag), new Change(null, -1), Change::plus);
+            }
+            for (String tag : added) {
+                pending.merge(SearchText.fold(tag), new Change(tag.trim(), 1), Change::plus);
+            }
+            pendingSize = pending.size();
+        }
+        if (pendingSize > maxPendingChanges) {
+            requestRebuild();
+        }
+    }
+
+    /**
+     * The most used tags starting with a prefix, most used first
+     */
+    public List<TagSuggestion> suggest(String prefix, int limit) {
+        String key = SearchText.fold(prefix);
+        State current = state;
+        Snapshot snapshot = current.snapshot();
+        String[] keys = snapshot.keys();
+
+        Map<String, TagSuggestion> found = new HashMap<>();
+        int[] top = snapshot.topByPrefix().get(key);
+        if (top != null) {
+            for (int index : top) {
+                add(found, current, snapshot, keys[index]);
+            }
+        } else {
+            // Not a cached prefix, so at most maxSuggestions tags start with it
+            for (int i = lowerBound(keys, key); i < keys.length && keys[i].startsWith(key); i++) {
+                add(found, current, snapshot, keys[i]);
+            }
+        }
+        // Tags whose count changed since the snapshot may now rank higher than its top list says
+        for (Map<String, Change> changes : List.of(current.draining(), current.pending())) {
+            changes.keySet().forEach(tag -> {
+                if (tag.startsWith(key) && !found.containsKey(tag)) {
+                    add(found, current, snapshot, tag);
+                }
+            });
+        }
+
+        return found.values().stream()
+                .filter(suggestion -> suggestion.getCount() > 0)
+                .sorted(Comparator.comparingInt(TagSuggestion::getCount).reversed()
+                        .thenComparing(TagSuggestion::getTag))
+                .limit(Math.min(limit, maxSuggestions))
+                .toList();
+    }
+
+    private static void add(Map<String, TagSuggestion> found, State state, Snapshot snapshot, String key) {
+        int index = Arrays.binarySearch(snapshot.keys(), key);
+        String label = index >= 0 ? snapshot.labels()[index] : null;
+        int count = index >= 0 ? snapshot.counts()[index] : 0;
+        for (Map<String, Change> changes : List.of(state.draining(), state.pending())) {
+            Change change = changes.get(key);
+            if (change != null) {
+                count += change.delta();
+                label = label != null ? label : change.label();
+            }
+        }
+        if (label != null) {
+            found.put(key, TagSuggestion.builder().tag(label).count(count).build());
+        }
+    }
+
+    private static int lowerBound(String[] keys, String key) {
+        int index = Arrays.binarySearch(keys, key);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * Fold spellings of the same tag together and lay the counts out for lookup
+     */
+    static Snapshot build(List<TagCountRow> rows, int topSize) {
+        Map<String, Integer> totals = new HashMap<>();
+        Map<String, TagCountRow> mostUsedSpelling = new HashMap<>();
+        for (TagCountRow row : rows) {
+            if (row.tag() == null) {
+                continue;
+            }
+            String key = SearchText.fold(row.tag());
+            if (key.isEmpty()) {
+                continue;
+            }
+            totals.merge(key, row.count().intValue(), Integer::sum);
+            mostUsedSpelling.merge(key, row, (a, b) -> a.count() >= b.count() ? a : b);
+        }
+
+        String[] keys = totals.keySet().toArray(new String[0]);
+        Arrays.sort(keys);
+        String[] labels = new String[keys.length];
+        int[] counts = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            labels[i] = mostUsedSpelling.get(keys[i]).tag().trim();
+            counts[i] = totals.get(keys[i]);
+        }
+
+        // How many tags each prefix covers, the empty prefix included
+        Map<String, Integer> prefixSizes = new HashMap<>();
+        for (String key : keys) {
+            for (int length = 0; length <= key.length(); length++) {
+                prefixSizes.merge(key.substring(0, length), 1, Integer::sum);
+            }
+        }
+        // Visiting tags most used first fills each wide prefix's list in rank order
+        Integer[] byCount = new Integer[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            byCount[i] = i;
+        }
+        Arrays.sort(byCount, Comparator.<Integer>comparingInt(i -> counts[i]).reversed()
+                .thenComparing(i -> labels[i]));
+        Map<String, List<Integer>> lists = new HashMap<>();
+        for (int index : byCount) {
+            String key = keys[index];
+            for (int length = 0; length <= key.length(); length++) {
+                String prefix = key.substring(0, length);
+                if (prefixSizes.get(prefix) > topSize) {
+                    List<Integer> list = lists.computeIfAbsent(prefix, p -> new ArrayList<>(topSize));
+                    if (list.size() < topSize) {
+                        list.add(index);
+                    }
+                }
+            }
+        }
+        Map<String, int[]> topByPrefix = new HashMap<>(lists.size() * 2);
+        lists.forEach((prefix, list) -> topByPrefix.put(prefix, list.stream().mapToInt(Integer::intValue).toArray()));
+        return new Snapshot(keys, labels, counts, topByPrefix);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+}
@@ -0,0 +1,379 @@
+package com.example.postfolio.search.service;
+
+import com.example.postfolio.common.collection.LongHashSet;
+import com.example.postfolio.common.collection.LongObjectHashMap;
+import com.example.postfolio.connection.service.ConnectionGraph;
+import com.example.postfolio.user.dto.UserSearchRow;
+import com.example.postfolio.user.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongConsumer;
+
+/**
+ * In-memory n-gram index over user names and emails, replacing LIKE '%term%' scans. Every trigram
+ * of the case- and accent-folded fields maps to the ids containing it, so a query of three or more
+ * characters intersects its trigrams' postings and checks the few survivors. Shorter queries match
+ * word prefixes only, through one- and two-character grams anchored at word starts. In fuzzy mode,
+ * users whose name words are each within a few edits of the query's words follow the exact hits.
+ * <p>
+ * Users register through auth-service, so new accounts are picked up by a periodic keyset catch-up;
+ * edits made in this process are indexed straight away.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserSearchIndex {
+
+    private final UserRepository userRepository;
+    private final ConnectionGraph connectionGraph;
+
+    @Value("${search.users.load-batch-size:10000}")
+    private int loadBatchSize;
+
+    @Value("${search.users.fuzzy-max-edits:2}")
+    private int fuzzyMaxEdits;
+
+    // Never left in folded text, so it can anchor prefix grams
+    private static final char WORD_START = '\u0002';
+    private static final int BUDGET_CHECK_INTERVAL = 256;
+
+    private static final int EXACT = 0;
+    private static final int PREFIX = 1;
+    private static final int INFIX = 2;
+    private static final int FUZZY = 3;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private LongObjectHashMap<Doc> docs = new LongObjectHashMap<>();
+    private LongObjectHashMap<LongHashSet> postings = new LongObjectHashMap<>();
+    private NameTermDictionary nameTerms = new NameTermDictionary();
+    private volatile long maxIndexedId;
+
+    private record Doc(long id, String name, String email, String foldedName, String foldedEmail) {}
+
+    public record Hit(long id, String name, String email) {}
+
+    public record Result(List<Hit> hits, int total, boolean partial) {}
+
+    private record Candidate(Doc doc, int tier, int distance, int degree) {}
+
+    // Best first: match tier, fewer typos, then the better-connected user, then name and id for a stable order
+    private static final Comparator<Candidate> RANKING = Comparator
+            .comparingInt(Candidate::tier)
+            .thenComparingInt(Candidate::distance)
+            .thenComparing(Comparator.comparingInt(Candidate::degree).reversed())
+            .thenComparing(candidate -> candidate.doc().foldedName())
+            .thenComparingLong(candidate -> candidate.doc().id());
+
+    /**
+     * Build the index from the users table, in keyset batches
+     */
+    @PostConstruct
+    public void load() {
+        long started = System.currentTimeMillis();
+        LongObjectHashMap<Doc> loadedDocs = new LongObjectHashMap<>();
+        LongObjectHashMap<LongHashSet> loadedPostings = new LongObjectHashMap<>();
+        NameTermDictionary loadedTerms = new NameTermDictionary();
+        long lastId = 0;
+        List<UserSearchRow> batch;
+        do {
+            batch = userRepository.findSearchRowsAfter(lastId, PageRequest.of(0, loadBatchSize));
+            for (UserSearchRow row : batch) {
+                add(loadedDocs, loadedPostings, loadedTerms, doc(row.id(), row.name(), row.email()));
+                lastId = row.id();
+            }
+        } while (batch.size() == loadBatchSize);
+
+        lock.writeLock().lock();
+        try {
+            docs = loadedDocs;
+            postings = loadedPostings;
+            nameTerms = loadedTerms;
+            maxIndexedId = Math.max(maxIndexedId, lastId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Loaded user search index: {} users, {} grams, {} name terms in {} ms",
+                loadedDocs.size(), loadedPostings.size(), loadedTerms.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Index users registered since the last load or catch-up
+     */
+    @Scheduled(fixedDelayString = "${search.users.refresh-interval-ms:30000}",
+               initialDelayString = "${search.users.refresh-interval-ms:30000}")
+    public void catchUp() {
+        List<UserSearchRow> batch;
+        do {
+            batch = userRepository.findSearchRowsAfter(maxIndexedId, PageRequest.of(0, loadBatchSize));
+            for (UserSearchRow row : batch) {
+                index(row.id(), row.name(), row.email());
+            }
+        } while (batch.size() == loadBatchSize);
+    }
+
+    /**
+     * Add a user or replace their indexed name and email
+     */
+    public void index(long userId, String name, String email) {
+        Doc doc = doc(userId, name, email);
+        lock.writeLock().lock();
+        try {
+            Doc previous = docs.get(userId);
+            if (previous != null) {
+                if (previous.foldedName().equals(doc.foldedName()) && previous.foldedEmail().equals(doc.foldedEmail())) {
+                    docs.put(userId, doc);
+                    return;
+                }
+                remove(docs, postings, nameTerms, previous);
+            }
+            add(docs, postings, nameTerms, doc);
+            if (userId > maxIndexedId) {
+                maxIndexedId = userId;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rank users matching a query: exact over prefix over infix, then by connection count, and return
+     * ranks offset to offset + limit. Fuzzy matches, if asked for, rank after all of those by number
+     * of edits. Candidates left unchecked when the budget runs out are dropped and the result is
+     * marked partial.
+     */
+    public Result search(String query, long excludeUserId, int offset, int limit, long budgetNanos, boolean fuzzy) {
+        String folded = SearchText.fold(query);
+        if (folded.isEmpty() || limit <= 0) {
+            return new Result(List.of(), 0, false);
+        }
+        long deadline = System.nanoTime() + budgetNanos;
+        int keep = offset + limit;
+        // Worst kept candidate at the head, so it is the one pushed out
+        PriorityQueue<Candidate> top = new PriorityQueue<>(keep + 1, RANKING.reversed());
+        int total = 0;
+        boolean partial = false;
+
+        lock.readLock().lock();
+        try {
+            long[] candidates = candidates(folded);
+            for (int i = 0; i < candidates.length; i++) {
+                if (i % BUDGET_CHECK_INTERVAL == BUDGET_CHECK_INTERVAL - 1 && System.nanoTime() > deadline) {
+                    partial = true;
+                    break;
+                }
+                long id = candidates[i];
+                if (id == excludeUserId) {
+                    continue;
+                }
+                Doc doc = docs.get(id);
+                int tier = tier(doc, folded);
+                if (tier < 0) {
+                    continue;
+                }
+                total++;
+                top.add(new Candidate(doc, tier, 0, connectionGraph.acceptedCount(id)));
+                if (top.size() > keep) {
+                    top.poll();
+                }
+            }
+            if (fuzzy && !partial) {
+                LongObjectHashMap<int[]> near = fuzzyCandidates(folded);
+                long[] ids = new long[near.size()];
+                int[] next = {0};
+                near.forEach((id, distance) -> ids[next[0]++] = id);
+                for (int i = 0; i < ids.length; i++) {
+                    if (i % BUDGET_CHECK_INTERVAL == BUDGET_CHECK_INTERVAL - 1 && System.nanoTime() > deadline) {
+                        partial = true;
+                        break;
+                    }
+                    long id = ids[i];
+                    Doc doc = docs.get(id);
+                    // Exact, prefix and infix matches were ranked above
+                    if (id == excludeUserId || tier(doc, folded) >= 0) {
+                        continue;
+                    }
+                    total++;
+                    top.add(new Candidate(doc, FUZZY, near.get(id)[0], connectionGraph.acceptedCount(id)));
+                    if (top.size() > keep) {
+                        top.poll();
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Candidate> ranked = new ArrayList<>(top);
+        ranked.sort(RANKING);
+        List<Hit> hits = new ArrayList<>(Math.max(0, ranked.size() - offset));
+        for (int i = offset; i < ranked.size(); i++) {
+            Doc doc = ranked.get(i).doc();
+            hits.add(new Hit(doc.id(), doc.name(), doc.email()));
+        }
+        return new Result(hits, total, partial);
+    }
+
+    // Ids holding every gram of the query; the caller still checks each one
+    private long[] candidates(String folded) {
+        if (folded.length() < 3) {
+            LongHashSet posting = postings.get(prefixGram(folded));
+            return posting != null ? posting.toArray() : new long[0];
+        }
+        List<LongHashSet> required = new ArrayList<>();
+        for (int i = 0; i + 3 <= folded.length(); i++) {
+            LongHashSet posting = postings.get(gram(folded.charAt(i), folded.charAt(i + 1), folded.charAt(i + 2)));
+            if (posting == null) {
+                return new long[0];
+            }
+            required.add(posting);
+        }
+        required.sort(Comparator.comparingInt(LongHashSet::size));
+        long[] ids = required.get(0).toArray();
+        int kept = 0;
+        next:
+        for (long id : ids) {
+            for (int j = 1; j < required.size(); j++) {
+                if (!required.get(j).contains(id)) {
+                    continue next;
+                }
+            }
+            ids[kept++] = id;
+        }
+        return kept == ids.length ? ids : Arrays.copyOf(ids, kept);
+    }
+
+    // Users with a name word near every query word, mapped to the summed edits of their closest words
+    private LongObjectHashMap<int[]> fuzzyCandidates(String folded) {
+        LongObjectHashMap<int[]> matched = null;
+        for (String word : SearchText.words(folded)) {
+            LongObjectHashMap<int[]> forWord = new LongObjectHashMap<>();
+            nameTerms.forEachWithin(word, editsFor(word), (term, distance, userIds) -> userIds.forEach(id -> {
+                int[] closest = forWord.get(id);
+                if (closest == null) {
+                    forWord.put(id, new int[]{distance});
+                } else if (distance < closest[0]) {
+                    closest[0] = distance;
+                }
+            }));
+            if (matched == null) {
+                matched = forWord;
+            } else {
+                LongObjectHashMap<int[]> both = new LongObjectHashMap<>();
+                matched.forEach((id, distance) -> {
+                    int[] other = forWord.get(id);
+                    if (other != null) {
+                        both.put(id, new int[]{distance[0] + other[0]});
+                    }
+                });
+                matched = both;
+            }
+            if (matched.isEmpty()) {
+                break;
+            }
+        }
+        return matched != null ? matched : new LongObjectHashMap<>();
+    }
+
+    // Short words get fewer edits, or almost any word would match them
+    private int editsFor(String word) {
+        int edits = word.length() <= 2 ? 0 : word.length() <= 5 ? 1 : 2;
+        return Math.min(edits, fuzzyMaxEdits);
+    }
+
+    // Match tier of a user for a query, or -1 if the grams matched without the text matching
+    private static int tier(Doc doc, String query) {
+        String name = doc.foldedName();
+        String email = doc.foldedEmail();
+        int at = email.indexOf('@');
+        if (name.equals(query) || email.equals(query) || (at > 0 && email.substring(0, at).equals(query))) {
+            return EXACT;
+        }
+        if (startsAtWord(name, query) || startsAtWord(email, query)) {
+            return PREFIX;
+        }
+        if (query.length() >= 3 && (name.contains(query) || email.contains(query))) {
+            return INFIX;
+        }
+        return -1;
+    }
+
+    private static boolean startsAtWord(String text, String query) {
+        for (int i = text.indexOf(query); i >= 0; i = text.indexOf(query, i + 1)) {
+            if (isWordStart(text, i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isWordStart(String text, int i) {
+        return Character.isLetterOrDigit(text.charAt(i)) && (i == 0 || !Character.isLetterOrDigit(text.charAt(i - 1)));
+    }
+
+    private static void add(LongObjectHashMap<Doc> docs, LongObjectHashMap<LongHashSet> postings,
+                            NameTermDictionary nameTerms, Doc doc) {
+        docs.put(doc.id(), doc);
+        forEachGram(doc, gram -> postings.computeIfAbsent(gram, g -> new LongHashSet()).add(doc.id()));
+        for (String word : SearchText.words(doc.foldedName())) {
+            nameTerms.add(word, doc.id());
+        }
+    }
+
+    private static void remove(LongObjectHashMap<Doc> docs, LongObjectHashMap<LongHashSet> postings,
+                               NameTermDictionary nameTerms, Doc doc) {
+        docs.remove(doc.id());
+        for (String word : SearchText.words(doc.foldedName())) {
+            nameTerms.remove(word, doc.id());
+        }
+        forEachGram(doc, gram -> {
+            LongHashSet posting = postings.get(gram);
+            if (posting != null && posting.remove(doc.id()) && posting.isEmpty()) {
+                postings.remove(gram);
+            }
+        });
+    }
+
+    // Every trigram of both fields, plus the one- and two-character prefix of each word; may repeat a gram
+    private static void forEachGram(Doc doc, LongConsumer action) {
+        for (String text : new String[]{doc.foldedName(), doc.foldedEmail()}) {
+            for (int i = 0; i < text.length(); i++) {
+                if (i + 3 <= text.length()) {
+                    action.accept(gram(text.charAt(i), text.charAt(i + 1), text.charAt(i + 2)));
+                }
+                if (isWordStart(text, i)) {
+                    action.accept(gram(WORD_START, WORD_START, text.charAt(i)));
+                    if (i + 1 < text.length()) {
+                        action.accept(gram(WORD_START, text.charAt(i), text.charAt(i + 1)));
+                    }
+                }
+            }
+        }
+    }
+
+    // Three chars packed into one positive key
+    private static long gram(char a, char b, char c) {
+        return 1L << 48 | (long) a << 32 | (long) b << 16 | c;
+    }
+
+    private static long prefixGram(String prefix) {
+        return prefix.length() == 1
+                ? gram(WORD_START, WORD_START, prefix.charAt(0))
+                : gram(WORD_START, prefix.charAt(0), prefix.charAt(1));
+    }
+
+    private static Doc doc(long id, String name, String email) {
+        return new Doc(id, name, email, SearchText.fold(name), SearchText.fold(email));
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.postfolio.user.controller;
+
+import com.example.postfolio.user.dto.UpdateRoleRequest;
+import com.example.postfolio.user.dto.UserDto;
+import com.example.postfolio.user.service.UserAdminService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/users")
+@RequiredArgsConstructor
+public class UserAdminController {
+
+    private final UserAdminService userAdminService;
+
+    @PutMapping("/{userId}/role")
+    public ResponseEntity<UserDto> updateRole(@PathVariable Long userId, @RequestBody UpdateRoleRequest request) {
+        return ResponseEntity.ok(userAdminService.updateRole(userId, request.role()));
+    }
+}
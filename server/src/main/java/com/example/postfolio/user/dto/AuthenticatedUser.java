@@ -0,0 +1,21 @@
+package com.example.postfolio.user.dto;
+
+import com.example.postfolio.user.model.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+import java.util.List;
+
+// Immutable principal of a verified token; getName() is the email, like User.getUsername()
+public record AuthenticatedUser(Long id, String email, Role role) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    public List<GrantedAuthority> authorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.postfolio.user.dto;
+
+import com.example.postfolio.user.model.Role;
+
+public record UpdateRoleRequest(Role role) {}
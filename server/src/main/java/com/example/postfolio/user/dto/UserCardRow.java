@@ -0,0 +1,4 @@
+package com.example.postfolio.user.dto;
+
+// What a list of people shows per user; profileId and pictureHash are null without a profile
+public record UserCardRow(Long userId, String name, Long profileId, String pictureHash) {}
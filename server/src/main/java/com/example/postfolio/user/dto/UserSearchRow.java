@@ -0,0 +1,4 @@
+package com.example.postfolio.user.dto;
+
+// The fields people search matches on
+public record UserSearchRow(Long id, String name, String email) {}
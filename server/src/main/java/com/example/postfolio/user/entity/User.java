@@ -1,9 +1,7 @@
 package com.example.postfolio.user.entity;
 
 
-import com.example.postfolio.profile.entity.Profile;
 import com.example.postfolio.user.model.Role;
-import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -34,9 +32,6 @@ public class User implements UserDetails{
     @Enumerated(EnumType.STRING)
     private Role role;
 
-    @OneToOne(mappedBy = "user", cascade = CascadeType.ALL)
-    private Profile profile;
-
 
     // Spring Security UserDetails interface methods
     @Override
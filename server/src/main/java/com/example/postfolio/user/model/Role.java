@@ -2,5 +2,6 @@ package com.example.postfolio.user.model;
 
 public enum Role {
     User,
-    Employer
+    Employer,
+    Admin
 }
\ No newline at end of file
@@ -1,20 +1,33 @@
 package com.example.postfolio.user.repository;
 
+import com.example.postfolio.user.dto.AuthenticatedUser;
+import com.example.postfolio.user.dto.UserCardRow;
+import com.example.postfolio.user.dto.UserSearchRow;
 import com.example.postfolio.user.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
-    // Search users by name or email (excluding current user)
-    @Query("SELECT u FROM User u WHERE " +
-            "(LOWER(u.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(u.email) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) AND " +
-            "u.id != :currentUserId")
-    List<User> searchUsers(@Param("searchTerm") String searchTerm, @Param("currentUserId") Long currentUserId);
+    // Scalar principal for request authentication
+    @Query("SELECT new com.example.postfolio.user.dto.AuthenticatedUser(u.id, u.email, u.role) " +
+           "FROM User u WHERE u.email = :email")
+    Optional<AuthenticatedUser> findAuthenticatedUserByEmail(@Param("email") String email);
+
+    // Keyset batch for loading the people search index, also used to pick up new registrations
+    @Query("SELECT new com.example.postfolio.user.dto.UserSearchRow(u.id, u.name, u.email) " +
+           "FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<UserSearchRow> findSearchRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Name and avatar of several users at once, for people lists
+    @Query("SELECT new com.example.postfolio.user.dto.UserCardRow(u.id, u.name, p.id, p.pictureHash) " +
+           "FROM User u LEFT JOIN Profile p ON p.user = u WHERE u.id IN :userIds")
+    List<UserCardRow> findCardRowsByIds(@Param("userIds") Collection<Long> userIds);
 }
@@ -0,0 +1,32 @@
+package com.example.postfolio.user.service;
+
+import com.example.postfolio.user.dto.AuthenticatedUser;
+import com.example.postfolio.user.entity.User;
+import com.example.postfolio.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class CurrentUserService {
+
+    private final UserRepository userRepository;
+
+    /**
+     * The authenticated user. JwtAuthFilter already resolved its id for this request, so this is a
+     * lazy reference that only hits the database if a non-id property is read.
+     */
+    public User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+            return userRepository.getReferenceById(principal.id());
+        }
+        if (authentication.getPrincipal() instanceof User user) {
+            return user;
+        }
+        return userRepository.findByEmail(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.postfolio.user.service;
+
+import com.example.postfolio.config.PrincipalCache;
+import com.example.postfolio.user.dto.UserDto;
+import com.example.postfolio.user.entity.User;
+import com.example.postfolio.user.model.Role;
+import com.example.postfolio.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+@Service
+@RequiredArgsConstructor
+public class UserAdminService {
+
+    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+
+    /**
+     * Change a user's role. Their cached principals are dropped once the change commits, so the
+     * new role applies from their next request rather than when their token expires.
+     */
+    @Transactional
+    public UserDto updateRole(Long userId, Role role) {
+        if (role == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Role is required");
+        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+        user.setRole(role);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                principalCache.evictUser(userId);
+            }
+        });
+        return new UserDto(user.getId(), user.getName(), user.getEmail(), user.getRole());
+    }
+}
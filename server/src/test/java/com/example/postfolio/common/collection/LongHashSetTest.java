@@ -0,0 +1,90 @@
+package com.example.postfolio.common.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongHashSetTest {
+
+    @Test
+    void matchesHashSetUnderRandomAddsAndRemoves() {
+        Random random = new Random(42);
+        LongHashSet set = new LongHashSet();
+        Set<Long> expected = new HashSet<>();
+        // A narrow key range keeps the table dense, so probe chains are long and removals shift often
+        for (int i = 0; i < 200_000; i++) {
+            long key = 1 + random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                assertThat(set.remove(key)).isEqualTo(expected.remove(key));
+            } else {
+                assertThat(set.add(key)).isEqualTo(expected.add(key));
+            }
+            assertThat(set.size()).isEqualTo(expected.size());
+            if (i % 10_000 == 0) {
+                for (long candidate = 1; candidate <= 2_000; candidate++) {
+                    assertThat(set.contains(candidate)).isEqualTo(expected.contains(candidate));
+                }
+            }
+        }
+        assertThat(set.toSortedArray())
+                .containsExactly(expected.stream().sorted().mapToLong(Long::longValue).toArray());
+    }
+
+    @Test
+    void keepsEveryKeyThroughRehashes() {
+        LongHashSet set = new LongHashSet(2);
+        for (long key = 1; key <= 10_000; key++) {
+            set.add(key * 7919);
+        }
+        assertThat(set.size()).isEqualTo(10_000);
+        for (long key = 1; key <= 10_000; key++) {
+            assertThat(set.contains(key * 7919)).isTrue();
+            assertThat(set.contains(key * 7919 + 1)).isFalse();
+        }
+    }
+
+    @Test
+    void removalShiftsProbeChainsThatWrapAroundTheTable() {
+        // 8 slots, so 4 keys stay below the resize threshold
+        LongHashSet set = new LongHashSet(4);
+        int mask = 7;
+        List<Long> lastSlot = keysWithHome(mask, mask, 3);
+        long firstSlot = keysWithHome(0, mask, 1).get(0);
+        lastSlot.forEach(set::add);
+        set.add(firstSlot);
+
+        assertThat(set.remove(lastSlot.get(0))).isTrue();
+
+        assertThat(set.contains(lastSlot.get(0))).isFalse();
+        assertThat(set.contains(lastSlot.get(1))).isTrue();
+        assertThat(set.contains(lastSlot.get(2))).isTrue();
+        assertThat(set.contains(firstSlot)).isTrue();
+        assertThat(set.size()).isEqualTo(3);
+    }
+
+    @Test
+    void onlyPositiveKeysCanBeStored() {
+        LongHashSet set = new LongHashSet();
+        assertThatThrownBy(() -> set.add(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> set.add(-5)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(set.contains(0)).isFalse();
+        assertThat(set.remove(-5)).isFalse();
+    }
+
+    static List<Long> keysWithHome(int home, int mask, int count) {
+        List<Long> keys = new ArrayList<>();
+        for (long key = 1; keys.size() < count; key++) {
+            if (LongHashSet.slot(key, mask) == home) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+}
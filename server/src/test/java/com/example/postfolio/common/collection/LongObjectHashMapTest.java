@@ -0,0 +1,64 @@
+package com.example.postfolio.common.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongObjectHashMapTest {
+
+    @Test
+    void matchesHashMapUnderRandomPutsAndRemoves() {
+        Random random = new Random(7);
+        LongObjectHashMap<String> map = new LongObjectHashMap<>(4);
+        Map<Long, String> expected = new HashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            long key = 1 + random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                assertThat(map.remove(key)).isEqualTo(expected.remove(key));
+            } else {
+                String value = "v" + i;
+                assertThat(map.put(key, value)).isEqualTo(expected.put(key, value));
+            }
+            assertThat(map.size()).isEqualTo(expected.size());
+            if (i % 10_000 == 0) {
+                for (long candidate = 1; candidate <= 2_000; candidate++) {
+                    assertThat(map.get(candidate)).isEqualTo(expected.get(candidate));
+                }
+            }
+        }
+        Map<Long, String> iterated = new HashMap<>();
+        map.forEach(iterated::put);
+        assertThat(iterated).isEqualTo(expected);
+    }
+
+    @Test
+    void removalKeepsValuesWithTheirKeysAcrossTheTableEnd() {
+        // 8 slots, so 4 keys stay below the resize threshold
+        LongObjectHashMap<String> map = new LongObjectHashMap<>(4);
+        List<Long> lastSlot = LongHashSetTest.keysWithHome(7, 7, 3);
+        long firstSlot = LongHashSetTest.keysWithHome(0, 7, 1).get(0);
+        lastSlot.forEach(key -> map.put(key, "last-" + key));
+        map.put(firstSlot, "first");
+
+        assertThat(map.remove(lastSlot.get(1))).isEqualTo("last-" + lastSlot.get(1));
+
+        assertThat(map.get(lastSlot.get(0))).isEqualTo("last-" + lastSlot.get(0));
+        assertThat(map.get(lastSlot.get(1))).isNull();
+        assertThat(map.get(lastSlot.get(2))).isEqualTo("last-" + lastSlot.get(2));
+        assertThat(map.get(firstSlot)).isEqualTo("first");
+    }
+
+    @Test
+    void computeIfAbsentCreatesOnlyOnce() {
+        LongObjectHashMap<StringBuilder> map = new LongObjectHashMap<>();
+        map.computeIfAbsent(3, key -> new StringBuilder()).append('a');
+        map.computeIfAbsent(3, key -> new StringBuilder()).append('b');
+        assertThat(map.get(3).toString()).isEqualTo("ab");
+        assertThat(map.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.postfolio.common.collection;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Mutual-connection counting between a viewer and a high-degree user. Compares the adaptive
+ * intersection used by MutualConnectionService with a plain linear merge, pure galloping, and
+ * the boxed HashSet retainAll that loading both connection lists would amount to.
+ * Run with: mvn test-compile, then this class's main method with the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MutualConnectionsBenchmark {
+
+    // Typical viewer against an influencer, and two high-degree users against each other
+    @Param({"150:50000", "1000:50000", "20000:50000"})
+    public String degrees;
+
+    // Share of the viewer's connections the other user also has
+    @Param({"0.1"})
+    public double overlap;
+
+    private long[] viewer;
+    private long[] other;
+    private List<Long> viewerBoxed;
+    private List<Long> otherBoxed;
+    private final long[] sample = new long[3];
+
+    @Setup
+    public void setUp() {
+        String[] parts = degrees.split(":");
+        int viewerDegree = Integer.parseInt(parts[0]);
+        int otherDegree = Integer.parseInt(parts[1]);
+        SplittableRandom random = new SplittableRandom(42);
+        long userSpace = 10_000_000L;
+
+        LongHashSet otherSet = new LongHashSet(otherDegree);
+        while (otherSet.size() < otherDegree) {
+            otherSet.add(1 + random.nextLong(userSpace));
+        }
+        other = otherSet.toSortedArray();
+
+        LongHashSet viewerSet = new LongHashSet(viewerDegree);
+        Random pick = new Random(7);
+        while (viewerSet.size() < viewerDegree) {
+            viewerSet.add(random.nextDouble() < overlap
+                    ? other[pick.nextInt(other.length)]
+                    : 1 + random.nextLong(userSpace));
+        }
+        viewer = viewerSet.toSortedArray();
+
+        viewerBoxed = Arrays.stream(viewer).boxed().collect(Collectors.toList());
+        otherBoxed = Arrays.stream(other).boxed().collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public int adaptive() {
+        return SortedLongArrays.intersect(viewer, other, sample);
+    }
+
+    @Benchmark
+    public int linearMerge() {
+        return SortedLongArrays.merge(viewer, other, sample);
+    }
+
+    @Benchmark
+    public int gallop() {
+        return viewer.length <= other.length
+                ? SortedLongArrays.gallop(viewer, other, sample)
+                : SortedLongArrays.gallop(other, viewer, sample);
+    }
+
+    @Benchmark
+    public int boxedRetainAll() {
+        Set<Long> mutual = new HashSet<>(viewerBoxed);
+        mutual.retainAll(new HashSet<>(otherBoxed));
+        return mutual.size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MutualConnectionsBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.postfolio.common.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SortedLongArraysTest {
+
+    @Test
+    void matchesBruteForceForSimilarAndSkewedSizes() {
+        Random random = new Random(11);
+        int[][] sizes = {{10, 10}, {100, 120}, {1, 5_000}, {5, 5_000}, {50, 100_000}, {300, 4_000}};
+        for (int[] size : sizes) {
+            for (int round = 0; round < 20; round++) {
+                long[] a = randomSorted(random, size[0], size[1] * 4L);
+                long[] b = randomSorted(random, size[1], size[1] * 4L);
+                long[] expected = bruteForce(a, b);
+
+                long[] sample = new long[5];
+                assertThat(SortedLongArrays.intersect(a, b, sample)).isEqualTo(expected.length);
+                assertThat(SortedLongArrays.intersect(b, a, null)).isEqualTo(expected.length);
+                assertThat(Arrays.copyOf(sample, Math.min(sample.length, expected.length)))
+                        .containsExactly(Arrays.copyOf(expected, Math.min(sample.length, expected.length)));
+
+                // Both strategies must agree whichever one intersect would pick
+                assertThat(SortedLongArrays.merge(a, b, null)).isEqualTo(expected.length);
+                long[] small = a.length <= b.length ? a : b;
+                long[] large = small == a ? b : a;
+                assertThat(SortedLongArrays.gallop(small, large, null)).isEqualTo(expected.length);
+            }
+        }
+    }
+
+    @Test
+    void handlesEmptyDisjointAndContainedInputs() {
+        long[] large = new long[1_000];
+        for (int i = 0; i < large.length; i++) {
+            large[i] = (i + 1) * 2L;
+        }
+        assertThat(SortedLongArrays.intersectionSize(new long[0], large)).isZero();
+        assertThat(SortedLongArrays.intersectionSize(large, new long[0])).isZero();
+        assertThat(SortedLongArrays.intersectionSize(new long[0], new long[0])).isZero();
+        // Odd values between, below and beyond every element of large
+        assertThat(SortedLongArrays.intersectionSize(new long[]{1, 3, 999, 2_001, 5_000}, large)).isZero();
+        assertThat(SortedLongArrays.gallop(new long[]{1, 3, 999, 2_001, 5_000}, large, null)).isZero();
+        // First and last elements, where galloping runs off either end
+        long[] sample = new long[3];
+        assertThat(SortedLongArrays.gallop(new long[]{2, 1_000, 2_000}, large, sample)).isEqualTo(3);
+        assertThat(sample).containsExactly(2, 1_000, 2_000);
+        assertThat(SortedLongArrays.intersectionSize(large, large)).isEqualTo(large.length);
+    }
+
+    private static long[] randomSorted(Random random, int size, long range) {
+        return random.longs(size * 2L, 1, range).distinct().limit(size).sorted().toArray();
+    }
+
+    private static long[] bruteForce(long[] a, long[] b) {
+        return Arrays.stream(a).filter(x -> Arrays.stream(b).anyMatch(y -> y == x)).toArray();
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.postfolio.config;
+
+import com.example.postfolio.profile.entity.Profile;
+import com.example.postfolio.user.entity.User;
+import com.example.postfolio.user.model.Role;
+import com.example.postfolio.user.service.CurrentUserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bytes read from the database to authenticate a request and resolve the current user, measured at
+ * the JDBC ResultSet level.
+ * <p>
+ * The baseline is an approximation, not the previous mapping itself: that entity graph no longer
+ * exists, so a hand-written native join stands in for what the eager User.profile inverse loaded,
+ * namely the user row plus the profile row with its inline base64 picture, run twice per request
+ * (auth filter, then getCurrentUser). It bounds what the old lookups read, since the picture column
+ * dominates either way, but it does not reproduce Hibernate's exact SQL.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({JwtAuthFilter.class, JwtService.class, PrincipalCache.class, SimpleMeterRegistry.class, CurrentUserService.class,
+        AuthenticatedRequestBytesReadTest.CountingDataSourceConfig.class})
+class AuthenticatedRequestBytesReadTest {
+
+    private static final AtomicLong BYTES_READ = new AtomicLong();
+    // A 750 KB photo, as base64
+    private static final int PICTURE_BYTES = 750 * 1024;
+
+    private static final String LEGACY_USER_BY_EMAIL =
+            "SELECT u.*, p.* FROM users u LEFT JOIN profiles p ON p.user_id = u.id WHERE u.email = ?1";
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JwtAuthFilter jwtAuthFilter;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private CurrentUserService currentUserService;
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authenticatedRequestReadsOnlyScalarUserColumns() throws Exception {
+        User user = entityManager.persist(User.builder()
+                .name("Bench User")
+                .email("bench@example.com")
+                .password("{noop}secret")
+                .role(Role.User)
+                .build());
+        Profile profile = new Profile();
+        profile.setUser(user);
+        entityManager.persist(profile);
+        entityManager.flush();
+
+        // The old schema kept the picture inline in profiles
+        entityManager.getEntityManager()
+                .createNativeQuery("ALTER TABLE profiles ADD COLUMN profile_picture CLOB")
+                .executeUpdate();
+        entityManager.getEntityManager()
+                .createNativeQuery("UPDATE profiles SET profile_picture = ?1 WHERE id = ?2")
+                .setParameter(1, Base64.getEncoder().encodeToString(new byte[PICTURE_BYTES]))
+                .setParameter(2, profile.getId())
+                .executeUpdate();
+        entityManager.clear();
+
+        // Approximated baseline: the old lookup's join, once for the filter and once for getCurrentUser
+        BYTES_READ.set(0);
+        for (int lookup = 0; lookup < 2; lookup++) {
+            entityManager.getEntityManager()
+                    .createNativeQuery(LEGACY_USER_BY_EMAIL)
+                    .setParameter(1, user.getEmail())
+                    .getResultList();
+        }
+        long before = BYTES_READ.get();
+        entityManager.clear();
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/posts/feed");
+        request.addHeader("Authorization", "Bearer " + jwtService.generateToken(user));
+        BYTES_READ.set(0);
+        jwtAuthFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        User currentUser = currentUserService.getCurrentUser();
+        long after = BYTES_READ.get();
+
+        assertThat(currentUser.getEmail()).isEqualTo(user.getEmail());
+        assertThat(after).isPositive().isLessThan(before / 1000);
+
+        // Same token again: the verified principal is cached, nothing is read to authenticate
+        SecurityContextHolder.clearContext();
+        entityManager.clear();
+        BYTES_READ.set(0);
+        jwtAuthFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo(user.getEmail());
+        assertThat(BYTES_READ.get()).isZero();
+    }
+
+    @TestConfiguration
+    static class CountingDataSourceConfig {
+        @Bean
+        static BeanPostProcessor countingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource ? counting(bean) : bean;
+                }
+            };
+        }
+    }
+
+    // Wraps DataSource -> Connection -> Statement -> ResultSet and counts every value read
+    private static Object counting(Object target) {
+        return Proxy.newProxyInstance(target.getClass().getClassLoader(),
+                ClassUtils.getAllInterfaces(target), (proxy, method, args) -> {
+                    Object result;
+                    try {
+                        result = method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (result instanceof Connection || result instanceof Statement || result instanceof ResultSet) {
+                        return counting(result);
+                    }
+                    if (target instanceof ResultSet && method.getName().startsWith("get")) {
+                        BYTES_READ.addAndGet(sizeOf(result));
+                    }
+                    return result;
+                });
+    }
+
+    private static long sizeOf(Object value) throws Exception {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String string) {
+            return string.getBytes(StandardCharsets.UTF_8).length;
+        }
+        if (value instanceof byte[] bytes) {
+            return bytes.length;
+        }
+        if (value instanceof Clob clob) {
+            return clob.length();
+        }
+        if (value instanceof Blob blob) {
+            return blob.length();
+        }
+        return 8;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.postfolio.config;
+
+import com.example.postfolio.user.dto.AuthenticatedUser;
+import com.example.postfolio.user.model.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrincipalCacheTest {
+
+    private static final String TOKEN = "header.payload.signature";
+    private static final Instant EXPIRES_AT = Instant.now().plusSeconds(3600);
+
+    private final PrincipalCache cache = new PrincipalCache(100, new SimpleMeterRegistry());
+
+    @Test
+    void principalLoadedBeforeAnEvictionIsNotCached() {
+        // Request misses and reads the role, an admin changes it and evicts, then the request caches
+        long generation = cache.generation();
+        AuthenticatedUser stale = new AuthenticatedUser(1L, "admin@example.com", Role.Admin);
+        cache.evictUser(1L);
+        cache.put(TOKEN, stale, EXPIRES_AT, generation);
+
+        assertThat(cache.get(TOKEN)).isEmpty();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void principalLoadedAfterTheEvictionIsCached() {
+        cache.evictUser(1L);
+        long generation = cache.generation();
+        AuthenticatedUser fresh = new AuthenticatedUser(1L, "admin@example.com", Role.User);
+        cache.put(TOKEN, fresh, EXPIRES_AT, generation);
+
+        assertThat(cache.get(TOKEN)).contains(fresh);
+    }
+
+    @Test
+    void evictionRemovesWhatWasCachedBeforeIt() {
+        AuthenticatedUser principal = new AuthenticatedUser(1L, "admin@example.com", Role.Admin);
+        AuthenticatedUser other = new AuthenticatedUser(2L, "user@example.com", Role.User);
+        cache.put(TOKEN, principal, EXPIRES_AT, cache.generation());
+        cache.put("header.other.token", other, EXPIRES_AT, cache.generation());
+
+        cache.evictUser(1L);
+
+        assertThat(cache.get(TOKEN)).isEmpty();
+        assertThat(cache.get("header.other.token")).contains(other);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.postfolio.post.service;
+
+import com.example.postfolio.post.dto.PostResponseDTO;
+import com.example.postfolio.post.entity.Post;
+import com.example.postfolio.post.entity.Reaction;
+import com.example.postfolio.post.model.ReactionType;
+import com.example.postfolio.post.models.PostType;
+import com.example.postfolio.post.repository.PostRepository;
+import com.example.postfolio.profile.entity.Profile;
+import com.example.postfolio.user.entity.User;
+import com.example.postfolio.user.model.Role;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(PostDtoAssembler.class)
+class PostDtoAssemblerTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostDtoAssembler postDtoAssembler;
+
+    @Test
+    void queryCountIsConstantPerPage() {
+        List<Long> smallPage = createPosts(5);
+        List<Long> largePage = createPosts(50);
+
+        long smallPageQueries = countQueriesToAssemble(smallPage);
+        long largePageQueries = countQueriesToAssemble(largePage);
+
+        assertThat(smallPageQueries).isEqualTo(largePageQueries);
+        assertThat(largePageQueries).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void assemblesAuthorTagsAndReactions() {
+        List<Long> postIds = createPosts(2);
+        entityManager.clear();
+
+        List<PostResponseDTO> dtos = postDtoAssembler.toDtos(postRepository.findAllById(postIds));
+
+        assertThat(dtos).hasSize(2);
+        assertThat(dtos).allSatisfy(dto -> {
+            assertThat(dto.getProfileName()).startsWith("author-");
+            assertThat(dto.getTags()).containsExactlyInAnyOrder("Java", "Spring");
+            assertThat(dto.getReactions()).hasSize(2);
+        });
+    }
+
+    private long countQueriesToAssemble(List<Long> postIds) {
+        entityManager.clear();
+        List<Post> posts = postRepository.findAllById(postIds);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        postDtoAssembler.toDtos(posts);
+        return statistics.getPrepareStatementCount();
+    }
+
+    // Each post gets its own author (worst case for the old per-post profile/user loading) and two reactions
+    private List<Long> createPosts(int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String suffix = count + "-" + i;
+            User author = entityManager.persist(User.builder()
+                    .name("author-" + suffix).email("author-" + suffix + "@example.com").role(Role.User).build());
+            Profile profile = entityManager.persist(Profile.builder().user(author).build());
+            Post post = entityManager.persist(Post.builder()
+                    .content("post " + suffix)
+                    .type(PostType.PROJECT)
+                    .tags(new ArrayList<>(List.of("Java", "Spring")))
+                    .autoTagged(true)
+                    .profile(profile)
+                    .createdAt(LocalDateTime.now())
+                    .updatedAt(LocalDateTime.now())
+                    .build());
+            for (int r = 0; r < 2; r++) {
+                User reactor = entityManager.persist(User.builder()
+                        .name("reactor-" + suffix + "-" + r).email("reactor-" + suffix + "-" + r + "@example.com")
+                        .role(Role.User).build());
+                entityManager.persist(Reaction.builder().post(post).user(reactor).type(ReactionType.CELEBRATE).build());
+            }
+            ids.add(post.getId());
+        }
+        entityManager.flush();
+        return ids;
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.postfolio.search.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typo-tolerant lookup of one misspelled name word over a corpus of 1M two-word names. Compares
+ * the pruned walk over NameTermDictionary with checking the edit distance to every user's name,
+ * which is what fuzzy matching without an index amounts to.
+ * Run with: mvn test-compile, then this class's main method with the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class FuzzyNameSearchBenchmark {
+
+    private static final int NAMES = 1_000_000;
+    private static final String[] SYLLABLES = {
+            "an", "ar", "be", "ca", "da", "el", "fa", "ga", "ha", "is", "jo", "ka", "la", "li", "ma", "mi",
+            "na", "ni", "o", "pa", "ra", "ri", "sa", "sh", "ta", "th", "u", "va", "wi", "ya", "ze", "son"};
+    private static final int QUERIES = 64;
+
+    @Param({"1", "2"})
+    public int maxEdits;
+
+    private NameTermDictionary dictionary;
+    private String[][] names;
+    private String[] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        // Skewed pools, like real names: a few thousand given names, far more surnames
+        String[] given = pool(random, 4_000, 2, 3);
+        String[] family = pool(random, 150_000, 2, 4);
+        dictionary = new NameTermDictionary();
+        names = new String[NAMES][];
+        for (int i = 0; i < NAMES; i++) {
+            String first = given[skewed(random, given.length)];
+            String last = family[skewed(random, family.length)];
+            names[i] = new String[]{first, last};
+            dictionary.add(first, i + 1);
+            dictionary.add(last, i + 1);
+        }
+        queries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = misspell(random, family[random.nextInt(family.length)]);
+        }
+    }
+
+    @Benchmark
+    public int dictionaryWalk() {
+        int[] users = {0};
+        dictionary.forEachWithin(nextQuery(), maxEdits, (term, distance, userIds) -> users[0] += userIds.size());
+        return users[0];
+    }
+
+    @Benchmark
+    public int scanEveryName() {
+        String query = nextQuery();
+        int users = 0;
+        for (String[] name : names) {
+            for (String word : name) {
+                if (Math.abs(word.length() - query.length()) <= maxEdits && distance(word, query) <= maxEdits) {
+                    users++;
+                    break;
+                }
+            }
+        }
+        return users;
+    }
+
+    private String nextQuery() {
+        return queries[next++ & (QUERIES - 1)];
+    }
+
+    private static String[] pool(SplittableRandom random, int size, int minSyllables, int maxSyllables) {
+        String[] pool = new String[size];
+        for (int i = 0; i < size; i++) {
+            StringBuilder word = new StringBuilder();
+            int syllables = minSyllables + random.nextInt(maxSyllables - minSyllables + 1);
+            for (int s = 0; s < syllables; s++) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            pool[i] = word.toString();
+        }
+        return pool;
+    }
+
+    // Index biased towards the front of the pool, so some names are much more common than others
+    private static int skewed(SplittableRandom random, int size) {
+        double u = random.nextDouble();
+        return (int) (size * u * u * u);
+    }
+
+    // One substitution, deletion, insertion or swap
+    private static String misspell(SplittableRandom random, String word) {
+        StringBuilder typo = new StringBuilder(word);
+        int at = random.nextInt(word.length() - 1);
+        switch (random.nextInt(4)) {
+            case 0 -> typo.setCharAt(at, (char) ('a' + random.nextInt(26)));
+            case 1 -> typo.deleteCharAt(at);
+            case 2 -> typo.insert(at, (char) ('a' + random.nextInt(26)));
+            default -> {
+                typo.setCharAt(at, word.charAt(at + 1));
+                typo.setCharAt(at + 1, word.charAt(at));
+            }
+        }
+        return typo.toString();
+    }
+
+    // Optimal string alignment distance, the measure the dictionary walk uses
+    static int distance(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FuzzyNameSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.postfolio.search.service;
+
+import com.example.postfolio.post.entity.Post;
+import com.example.postfolio.post.models.PostType;
+import com.example.postfolio.post.repository.PostRepository;
+import com.example.postfolio.profile.entity.Profile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class PostSearchIndexTest {
+
+    private PostSearchIndex index;
+    // What the index should hold: current content of every saved post, and the deleted ones
+    private final Map<Long, String> contents = new HashMap<>();
+    private final Set<Long> deleted = new HashSet<>();
+
+    @BeforeEach
+    void setUp() {
+        index = new PostSearchIndex(mock(PostRepository.class), mock(TagAutocompleteIndex.class));
+        ReflectionTestUtils.setField(index, "segmentDocs", 500);
+        ReflectionTestUtils.setField(index, "maxSegments", 8);
+        ReflectionTestUtils.setField(index, "mergeFactor", 4);
+    }
+
+    @Test
+    void matchingMoreTermsRanksHigherAfterRepeatedEdits() {
+        save(1L, "Kotlin services with Spring");
+        save(2L, "Spring Boot starter");
+        // Each edit leaves a dead version behind in the unmerged segment
+        for (int i = 0; i < 5; i++) {
+            save(1L, "Kotlin services with Spring");
+        }
+
+        // With a negative idf the extra matching term would push post 1 below post 2
+        PostSearchIndex.Result result = index.search("kotlin spring", null, null, null, 0, 10);
+
+        assertThat(result.postIds()).containsExactly(1L, 2L);
+        assertThat(result.total()).isEqualTo(2);
+    }
+
+    @Test
+    void editedAndDeletedPostsOnlyMatchTheirCurrentVersion() {
+        save(1L, "Rust compiler internals");
+        save(1L, "Go scheduler internals");
+        save(2L, "Rust async runtimes");
+        index.postDeleted(2L);
+
+        assertThat(index.search("rust", null, null, null, 0, 10).postIds()).isEmpty();
+        assertThat(index.search("scheduler", null, null, null, 0, 10).postIds()).containsExactly(1L);
+    }
+
+    @Test
+    void filtersByTypeTagAndAuthor() {
+        save(1L, "Kafka consumers", PostType.PROJECT, List.of("Kafka", "Java"), 10L);
+        save(2L, "Kafka certification", PostType.ACHIEVEMENT, List.of("Kafka"), 10L);
+        save(3L, "Kafka at scale", PostType.PROJECT, List.of("Streaming"), 20L);
+
+        assertThat(search("kafka", PostType.PROJECT, null, null)).containsExactlyInAnyOrder(1L, 3L);
+        // Tags match case-insensitively
+        assertThat(search("kafka", null, "java", null)).containsExactly(1L);
+        assertThat(search("kafka", null, null, 10L)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(search("kafka", PostType.PROJECT, "kafka", 20L)).isEmpty();
+        // Tags are searchable terms themselves
+        assertThat(search("streaming", null, null, null)).containsExactly(3L);
+    }
+
+    @Test
+    void mergingDropsDeadVersionsWithoutChangingResults() {
+        ReflectionTestUtils.setField(index, "segmentDocs", 10);
+        ReflectionTestUtils.setField(index, "maxSegments", 1_000);
+        for (long id = 1; id <= 200; id++) {
+            save(id, "common word" + id % 5);
+        }
+        for (long id = 1; id <= 200; id += 3) {
+            save(id, "common edited");
+        }
+        assertThat(index.segmentCount()).isEqualTo(27);
+
+        ReflectionTestUtils.setField(index, "maxSegments", 2);
+        index.mergeSmallest();
+
+        assertThat(index.segmentCount()).isEqualTo(3);
+        assertMatchesModel();
+    }
+
+    @Test
+    void writesDuringAMergeAreKept() throws Exception {
+        ReflectionTestUtils.setField(index, "segmentDocs", 10);
+        ReflectionTestUtils.setField(index, "maxSegments", 1_000);
+        for (long id = 1; id <= 2_000; id++) {
+            save(id, "common word" + id % 5);
+        }
+        // Later writes stay in the writing segment, which merges never touch
+        ReflectionTestUtils.setField(index, "segmentDocs", 1_000_000);
+        ReflectionTestUtils.setField(index, "maxSegments", 2);
+
+        Thread merge = new Thread(index::mergeSmallest);
+        merge.start();
+        // Edits and deletes unlink docs of segments the merge may have already taken its snapshot of
+        for (long id = 1; id <= 2_000; id += 2) {
+            if (id % 4 == 1) {
+                save(id, "common edited");
+            } else {
+                index.postDeleted(id);
+                deleted.add(id);
+            }
+        }
+        merge.join();
+
+        assertThat(index.segmentCount()).isEqualTo(3);
+        assertMatchesModel();
+        // A second merge finally drops the versions unlinked while the first one ran
+        index.mergeSmallest();
+        assertMatchesModel();
+    }
+
+    private void assertMatchesModel() {
+        for (String term : List.of("common", "edited", "word0", "word3")) {
+            List<Long> expected = contents.entrySet().stream()
+                    .filter(entry -> !deleted.contains(entry.getKey()))
+                    .filter(entry -> List.of(entry.getValue().split(" ")).contains(term))
+                    .map(Map.Entry::getKey)
+                    .toList();
+            PostSearchIndex.Result result = index.search(term, null, null, null, 0, 10_000);
+            assertThat(result.postIds()).as(term).containsExactlyInAnyOrderElementsOf(expected);
+            assertThat(result.total()).as(term).isEqualTo(expected.size());
+        }
+    }
+
+    private List<Long> search(String query, PostType type, String tag, Long profileId) {
+        return index.search(query, type, tag, profileId, 0, 10).postIds();
+    }
+
+    private void save(Long postId, String content) {
+        save(postId, content, PostType.PROJECT, List.of(), 1L);
+    }
+
+    private void save(Long postId, String content, PostType type, List<String> tags, Long profileId) {
+        contents.put(postId, content);
+        index.postSaved(Post.builder()
+                .id(postId)
+                .content(content)
+                .type(type)
+                .tags(tags)
+                .profile(Profile.builder().id(profileId).build())
+                .build());
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.postfolio.search.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostSegmentTest {
+
+    @Test
+    void mergeKeepsOnlyLiveDocsInDocOrder() {
+        PostSegment first = segment(Map.of(1L, "java", 2L, "java", 5L, "rust"));
+        PostSegment second = segment(Map.of(3L, "java", 4L, "go", 6L, "java"));
+        Set<Long> live = Set.of(2L, 3L, 5L, 6L);
+
+        PostSegment merged = PostSegment.merge(List.of(first, second), live::contains);
+
+        List<Long> docs = new ArrayList<>();
+        for (int i = 0; i < merged.docCount(); i++) {
+            docs.add(merged.doc(i));
+        }
+        assertThat(docs).containsExactly(2L, 3L, 5L, 6L);
+        assertThat(postings(merged, "java")).containsExactly(2L, 3L, 6L);
+        assertThat(postings(merged, "rust")).containsExactly(5L);
+        // Doc 4 was the only one with "go", so the term goes with it
+        assertThat(merged.postings("go")).isNull();
+        assertThat(merged.termCount()).isEqualTo(3);
+        assertThat(merged.sizeInBytes()).isLessThan(first.sizeInBytes() + second.sizeInBytes());
+    }
+
+    @Test
+    void mergeOfOnlyDeadDocsIsEmpty() {
+        PostSegment segment = segment(Map.of(1L, "java", 2L, "rust"));
+
+        PostSegment merged = PostSegment.merge(List.of(segment), doc -> false);
+
+        assertThat(merged.docCount()).isZero();
+        assertThat(merged.termCount()).isZero();
+    }
+
+    private static PostSegment segment(Map<Long, String> termByDoc) {
+        PostSegment segment = new PostSegment();
+        termByDoc.keySet().stream().sorted()
+                .forEach(doc -> segment.add(doc, Map.of(termByDoc.get(doc), 1, "common", 2)));
+        segment.seal();
+        return segment;
+    }
+
+    private static List<Long> postings(PostSegment segment, String term) {
+        List<Long> docs = new ArrayList<>();
+        PostingList.Cursor cursor = segment.postings(term).cursor();
+        while (cursor.next()) {
+            docs.add(cursor.doc());
+        }
+        return docs;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.postfolio.search.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PostingListTest {
+
+    @Test
+    void readsBackWhatWasWrittenAcrossVarintWidths() {
+        Random random = new Random(3);
+        long[] docs = new long[5_000];
+        int[] frequencies = new int[docs.length];
+        PostingList list = new PostingList();
+        long doc = 0;
+        for (int i = 0; i < docs.length; i++) {
+            // Gaps from one byte up to eight, frequencies up to the int range
+            doc += 1 + (random.nextInt(4) == 0 ? random.nextLong(1L << (7 * (1 + random.nextInt(8)))) : random.nextInt(100));
+            docs[i] = doc;
+            frequencies[i] = random.nextInt(4) == 0 ? random.nextInt(Integer.MAX_VALUE) : 1 + random.nextInt(5);
+            list.add(docs[i], frequencies[i]);
+        }
+        list.trim();
+
+        PostingList.Cursor cursor = list.cursor();
+        for (int i = 0; i < docs.length; i++) {
+            assertThat(cursor.next()).isTrue();
+            assertThat(cursor.doc()).isEqualTo(docs[i]);
+            assertThat(cursor.frequency()).isEqualTo(frequencies[i]);
+        }
+        assertThat(cursor.next()).isFalse();
+        assertThat(list.size()).isEqualTo(docs.length);
+    }
+
+    @Test
+    void denseDocsTakeTwoBytesEach() {
+        PostingList list = new PostingList();
+        for (long doc = 1; doc <= 1_000; doc++) {
+            list.add(doc, 1);
+        }
+        assertThat(list.sizeInBytes()).isEqualTo(2_000);
+    }
+
+    @Test
+    void docNumbersMustAscend() {
+        PostingList list = new PostingList();
+        list.add(5, 1);
+        assertThatThrownBy(() -> list.add(5, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> list.add(3, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}